@@ -0,0 +1,147 @@
+import javax.swing.*;
+import javax.swing.event.AncestorEvent;
+import javax.swing.event.AncestorListener;
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * The one frame clock every animation in the UI runs on. Animations
+ * register with start() and are called once per frame on the event
+ * dispatch thread with the frame's System.nanoTime(), so they advance by
+ * elapsed time rather than by counting ticks. A single Swing Timer drives
+ * all of them; it runs at the display's refresh rate where the screen
+ * reports one (60 Hz otherwise) and stops as soon as nothing is animating.
+ *
+ * Must only be used from the event dispatch thread.
+ */
+public class AnimationClock {
+    private static final int DEFAULT_REFRESH_RATE = 60;
+
+    private static AnimationClock instance;
+
+    private final Timer timer;
+    private Animation[] animations = new Animation[8];
+    private int count;
+
+    /**
+     * One running animation
+     */
+    @FunctionalInterface
+    public interface Animation {
+        /**
+         * Advance to the given time; return false when finished, which removes it from the clock
+         */
+        boolean frame(long now);
+    }
+
+    private AnimationClock() {
+        timer = new Timer(1000 / refreshRate(), e -> tick());
+        timer.setCoalesce(true);
+    }
+
+    public static AnimationClock getInstance() {
+        if (instance == null) {
+            instance = new AnimationClock();
+        }
+        return instance;
+    }
+
+    private static int refreshRate() {
+        try {
+            if (!GraphicsEnvironment.isHeadless()) {
+                int rate = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                        .getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+                if (rate != DisplayMode.REFRESH_RATE_UNKNOWN && rate > 0) {
+                    return rate;
+                }
+            }
+        } catch (RuntimeException e) {
+            // Fall back to the default below
+        }
+        return DEFAULT_REFRESH_RATE;
+    }
+
+    /**
+     * Run an animation from the next frame on; starting one that is already running does nothing
+     */
+    public void start(Animation animation) {
+        if (isRunning(animation)) return;
+        if (count == animations.length) {
+            animations = Arrays.copyOf(animations, count * 2);
+        }
+        animations[count++] = animation;
+        if (!timer.isRunning()) {
+            timer.start();
+        }
+    }
+
+    /**
+     * Remove an animation before it finishes; it gets no further frames
+     */
+    public void stop(Animation animation) {
+        for (int i = 0; i < count; i++) {
+            if (animations[i] == animation) {
+                animations[i] = null; // Compacted at the end of the current or next frame
+            }
+        }
+    }
+
+    public boolean isRunning(Animation animation) {
+        for (int i = 0; i < count; i++) {
+            if (animations[i] == animation) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Run an animation whenever the component is on screen, and pause it
+     * while it is not (e.g. after its dialog is closed)
+     */
+    public void runWhileShowing(JComponent component, Animation animation) {
+        component.addAncestorListener(new AncestorListener() {
+            @Override
+            public void ancestorAdded(AncestorEvent event) {
+                start(animation);
+            }
+
+            @Override
+            public void ancestorRemoved(AncestorEvent event) {
+                stop(animation);
+            }
+
+            @Override
+            public void ancestorMoved(AncestorEvent event) {
+            }
+        });
+        if (component.isShowing()) {
+            start(animation);
+        }
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+
+        // Animations started during this frame are appended and wait for the next one
+        int running = count;
+        for (int i = 0; i < running; i++) {
+            Animation animation = animations[i];
+            if (animation != null && !animation.frame(now)) {
+                // The animation may have been stopped, or restarted elsewhere, while it ran
+                if (animations[i] == animation) animations[i] = null;
+            }
+        }
+
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (animations[i] != null) {
+                animations[kept++] = animations[i];
+            }
+        }
+        Arrays.fill(animations, kept, count, null);
+        count = kept;
+
+        if (count == 0) {
+            timer.stop();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+import java.util.Arrays;
+
+/**
+ * Dial's bucket queue for integer keys and small integer edge weights.
+ * Nodes are ints kept in intrusive doubly linked lists, one list per
+ * bucket, and there are maxWeight + 1 buckets used circularly. Nothing is
+ * boxed and nothing is allocated after construction.
+ *
+ * Keys are not stored here. The caller keeps them (usually in a distance
+ * array) and passes the old key when a node moves to another bucket.
+ */
+public final class BucketQueue {
+    private static final int NONE = -1;
+
+    private final int[] bucketHead;
+    private final int[] next;
+    private final int[] prev;
+    private int size;
+    private int currentKey;
+
+    /**
+     * @param capacity  nodes are in the range 0..capacity-1
+     * @param maxWeight largest weight of a single edge
+     */
+    public BucketQueue(int capacity, int maxWeight) {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("maxWeight must not be negative");
+        }
+        this.bucketHead = new int[maxWeight + 1];
+        this.next = new int[capacity];
+        this.prev = new int[capacity];
+        clear();
+    }
+
+    /**
+     * Empty the queue. The next key must be >= startKey.
+     */
+    public void clear(int startKey) {
+        Arrays.fill(bucketHead, NONE);
+        size = 0;
+        currentKey = startKey;
+    }
+
+    public void clear() {
+        clear(0);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Key of the last node returned by poll()
+     */
+    public int currentKey() {
+        return currentKey;
+    }
+
+    public void add(int node, int key) {
+        int bucket = key % bucketHead.length;
+        int first = bucketHead[bucket];
+        next[node] = first;
+        prev[node] = NONE;
+        if (first != NONE) {
+            prev[first] = node;
+        }
+        bucketHead[bucket] = node;
+        size++;
+    }
+
+    /**
+     * Move a queued node from oldKey to a smaller newKey
+     */
+    public void decreaseKey(int node, int oldKey, int newKey) {
+        remove(node, oldKey);
+        add(node, newKey);
+    }
+
+    /**
+     * Remove and return a node with the smallest key, or -1 if empty
+     */
+    public int poll() {
+        if (size == 0) {
+            return NONE;
+        }
+
+        int bucket = currentKey % bucketHead.length;
+        while (bucketHead[bucket] == NONE) {
+            currentKey++;
+            bucket = currentKey % bucketHead.length;
+        }
+
+        int node = bucketHead[bucket];
+        remove(node, currentKey);
+        return node;
+    }
+
+    private void remove(int node, int key) {
+        int before = prev[node];
+        int after = next[node];
+        if (before != NONE) {
+            next[before] = after;
+        } else {
+            bucketHead[key % bucketHead.length] = after;
+        }
+        if (after != NONE) {
+            prev[after] = before;
+        }
+        size--;
+    }
+}
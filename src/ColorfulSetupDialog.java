@@ -4,6 +4,7 @@ import java.awt.event.*;
 import java.awt.geom.*;
 
 public class ColorfulSetupDialog {
+    private static final String[] DICE_FACES = {"⚀", "⚁", "⚂", "⚃", "⚄", "⚅"};
 
     /**
      * Replace the showModernSetupDialog() method in DiceGameGUI.java with this version
@@ -190,12 +191,16 @@ public class ColorfulSetupDialog {
         JLabel label = new JLabel("🎲");
         label.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 40));
 
-        Timer timer = new Timer(500, null);
-        timer.addActionListener(e -> {
-            String[] dice = {"⚀", "⚁", "⚂", "⚃", "⚄", "⚅"};
-            label.setText(dice[(int)(Math.random() * 6)]);
+        // A new face every 500 ms while the label is on screen
+        final long[] lastFace = {-1};
+        AnimationClock.getInstance().runWhileShowing(label, now -> {
+            long face = now / 500_000_000L;
+            if (face != lastFace[0]) {
+                lastFace[0] = face;
+                label.setText(DICE_FACES[(int)(Math.random() * DICE_FACES.length)]);
+            }
+            return true;
         });
-        timer.start();
 
         return label;
     }
@@ -209,17 +214,13 @@ public class ColorfulSetupDialog {
         button.setMaximumSize(new Dimension(300, 70));
         button.setForeground(Color.WHITE);
 
-        // Pulsing animation
-        Timer pulseTimer = new Timer(50, e -> button.repaint());
-        pulseTimer.start();
-
         button.addActionListener(e -> {
-            pulseTimer.stop();
+            button.stopPulse();
             String selected = (String) combo.getSelectedItem();
             int numPlayers = Integer.parseInt(selected.replaceAll("[^0-9]", ""));
 
             // Initialize game engine
-            parent.gameEngine = new GameEngine(numPlayers);
+            parent.gameEngine = DiceGameGUI.createEngine(numPlayers);
 
             // Set player names
             for (int i = 0; i < numPlayers; i++) {
@@ -271,8 +272,10 @@ public class ColorfulSetupDialog {
  * Animated background panel with floating dice and ladders
  */
 class AnimatedSetupPanel extends JPanel {
+    private static final long STEP_NANOS = 30_000_000L; // Icons move a fixed distance per step
+
     private java.util.List<FloatingIcon> floatingIcons;
-    private Timer animationTimer;
+    private long lastStep = -1;
 
     public AnimatedSetupPanel() {
         setOpaque(true);
@@ -283,14 +286,22 @@ class AnimatedSetupPanel extends JPanel {
             floatingIcons.add(new FloatingIcon());
         }
 
-        // Animation timer
-        animationTimer = new Timer(30, e -> {
-            for (FloatingIcon icon : floatingIcons) {
-                icon.update();
+        // Animate while on screen, stepping the icons once per elapsed step
+        AnimationClock.getInstance().runWhileShowing(this, now -> {
+            long step = now / STEP_NANOS;
+            if (lastStep < 0 || step - lastStep > 10) {
+                lastStep = step - 1; // First frame, or back on screen: take one step
+            }
+            if (step == lastStep) return true;
+
+            for (; lastStep < step; lastStep++) {
+                for (int i = 0; i < floatingIcons.size(); i++) {
+                    floatingIcons.get(i).update();
+                }
             }
             repaint();
+            return true;
         });
-        animationTimer.start();
     }
 
     @Override
@@ -303,38 +314,39 @@ class AnimatedSetupPanel extends JPanel {
         int height = getHeight();
 
         // Multi-layer gradient background
-        GradientPaint bg1 = new GradientPaint(
-                0, 0, new Color(255, 240, 245),
-                width, height, new Color(230, 240, 255)
-        );
-        g2d.setPaint(bg1);
+        g2d.setPaint(PaintCache.gradient(
+                0, 0, PaintCache.color(255, 240, 245),
+                width, height, PaintCache.color(230, 240, 255)
+        ));
         g2d.fillRect(0, 0, width, height);
 
         // Overlay gradient
-        GradientPaint bg2 = new GradientPaint(
-                width / 2, 0, new Color(255, 220, 240, 100),
-                width / 2, height, new Color(220, 230, 255, 100)
-        );
-        g2d.setPaint(bg2);
+        g2d.setPaint(PaintCache.gradient(
+                width / 2, 0, PaintCache.color(255, 220, 240, 100),
+                width / 2, height, PaintCache.color(220, 230, 255, 100)
+        ));
         g2d.fillRect(0, 0, width, height);
 
         // Draw floating icons
-        for (FloatingIcon icon : floatingIcons) {
-            icon.draw(g2d, width, height);
+        for (int i = 0; i < floatingIcons.size(); i++) {
+            floatingIcons.get(i).draw(g2d, width, height);
         }
 
         // Border
-        g2d.setStroke(new BasicStroke(5));
-        g2d.setColor(new Color(150, 180, 255));
+        g2d.setStroke(PaintCache.stroke(5));
+        g2d.setColor(PaintCache.color(150, 180, 255));
         g2d.drawRoundRect(2, 2, width - 4, height - 4, 30, 30);
     }
 }
 
 class FloatingIcon {
+    private static final String[] ICONS = {"🎲", "🪜", "⭐", "🎮", "🎯", "🏆"};
+
     private double x, y;
     private double vx, vy;
     private String icon;
     private float alpha;
+    private AlphaComposite composite; // SRC_OVER at alpha
     private double rotation;
     private double rotationSpeed;
 
@@ -349,10 +361,10 @@ class FloatingIcon {
         vx = (Math.random() - 0.5) * 0.5;
         vy = 0.3 + Math.random() * 0.5;
 
-        String[] icons = {"🎲", "🪜", "⭐", "🎮", "🎯", "🏆"};
-        icon = icons[(int)(Math.random() * icons.length)];
+        icon = ICONS[(int)(Math.random() * ICONS.length)];
 
         alpha = 0.3f + (float)Math.random() * 0.4f;
+        composite = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha);
         rotation = Math.random() * Math.PI * 2;
         rotationSpeed = (Math.random() - 0.5) * 0.05;
     }
@@ -371,17 +383,18 @@ class FloatingIcon {
     public void draw(Graphics2D g2d, int panelWidth, int panelHeight) {
         if (x < 0 || x > panelWidth) return;
 
-        g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
+        g2d.setComposite(composite);
 
-        AffineTransform old = g2d.getTransform();
         g2d.translate(x, y);
         g2d.rotate(rotation);
 
-        g2d.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 40));
+        g2d.setFont(PaintCache.font("Segoe UI Emoji", Font.PLAIN, 40));
         g2d.drawString(icon, -20, 20);
 
-        g2d.setTransform(old);
-        g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
+        // Undo the transform in reverse order instead of copying it first
+        g2d.rotate(-rotation);
+        g2d.translate(-x, -y);
+        g2d.setComposite(AlphaComposite.SrcOver);
     }
 }
 
@@ -389,6 +402,11 @@ class FloatingIcon {
  * Custom rainbow gradient button
  */
 class RainbowButton extends JButton {
+    private static final int HUE_STEPS = 300; // One per 10 ms of the 3 second cycle, so colours repeat
+    private static final long PULSE_NANOS = 50_000_000L; // Repaint interval of the pulsing gradient
+
+    private final transient AnimationClock.Animation pulse;
+    private long lastPulse = -1;
 
     public RainbowButton(String text) {
         super(text);
@@ -397,6 +415,24 @@ class RainbowButton extends JButton {
         setBorderPainted(false);
         setFocusPainted(false);
         setCursor(new Cursor(Cursor.HAND_CURSOR));
+
+        // Pulsing animation
+        pulse = now -> {
+            long step = now / PULSE_NANOS;
+            if (step != lastPulse) {
+                lastPulse = step;
+                repaint();
+            }
+            return true;
+        };
+        AnimationClock.getInstance().runWhileShowing(this, pulse);
+    }
+
+    /**
+     * Freeze the gradient until the button is shown again
+     */
+    public void stopPulse() {
+        AnimationClock.getInstance().stop(pulse);
     }
 
     @Override
@@ -408,29 +444,26 @@ class RainbowButton extends JButton {
         int height = getHeight();
 
         // Animated gradient
-        long time = System.currentTimeMillis();
-        float hue1 = (time % 3000) / 3000f;
-        float hue2 = ((time + 1500) % 3000) / 3000f;
-
-        GradientPaint gradient = new GradientPaint(
-                0, 0, Color.getHSBColor(hue1, 0.8f, 0.9f),
-                width, height, Color.getHSBColor(hue2, 0.8f, 0.9f)
-        );
+        long step = System.currentTimeMillis() / 10 % HUE_STEPS;
+        float hue1 = (float) step / HUE_STEPS;
+        float hue2 = (float) ((step + HUE_STEPS / 2) % HUE_STEPS) / HUE_STEPS;
 
-        g2d.setPaint(gradient);
+        g2d.setPaint(PaintCache.gradient(
+                0, 0, PaintCache.hsb(hue1, 0.8f, 0.9f),
+                width, height, PaintCache.hsb(hue2, 0.8f, 0.9f)
+        ));
         g2d.fillRoundRect(0, 0, width, height, 25, 25);
 
         // Shine effect
-        GradientPaint shine = new GradientPaint(
-                0, 0, new Color(255, 255, 255, 100),
-                0, height / 2, new Color(255, 255, 255, 0)
-        );
-        g2d.setPaint(shine);
+        g2d.setPaint(PaintCache.gradient(
+                0, 0, PaintCache.color(255, 255, 255, 100),
+                0, height / 2, PaintCache.color(255, 255, 255, 0)
+        ));
         g2d.fillRoundRect(0, 0, width, height / 2, 25, 25);
 
         // Border
-        g2d.setStroke(new BasicStroke(3));
-        g2d.setColor(new Color(255, 255, 255, 200));
+        g2d.setStroke(PaintCache.stroke(3));
+        g2d.setColor(PaintCache.color(255, 255, 255, 200));
         g2d.drawRoundRect(1, 1, width - 2, height - 2, 25, 25);
 
         // Text
@@ -0,0 +1,97 @@
+/**
+ * GameRules compiled for one board into per-tile tables, so a turn is a
+ * clamp, a few array loads and no rule checks:
+ *
+ *   landing = clamp(position +/- roll)
+ *   points += tilePoints[landing]
+ *   end     = forward ? jump[landing] : landing
+ *   flags   = tileFlags[end]             (FINISH, DOUBLE_TURN)
+ *
+ * Tables are per tile rather than per (tile, roll): the clamp is cheaper
+ * than a 12 times larger table on boards with millions of tiles.
+ * Immutable and shared by the engine, GameState and the pathfinder.
+ */
+public final class CompiledRules {
+    static final byte FINISH = 1;
+    static final byte DOUBLE_TURN = 2;
+
+    private final GameRules rules;
+    private final JumpTable board;
+    private final ScoreTable scores;
+    private final int finishTile;
+    private final int dieFaces;
+    private final double forwardProbability;
+    private final int winBonus;
+    final int[] jump;
+    final int[] tilePoints;
+    final byte[] tileFlags;
+
+    CompiledRules(GameRules rules, JumpTable board) {
+        this.rules = rules;
+        this.board = board;
+        this.finishTile = board.getBoardSize();
+        this.scores = ScoreTable.build(rules.getScoring(), finishTile);
+        this.dieFaces = rules.getDieFaces();
+        this.forwardProbability = rules.getForwardProbability();
+        this.winBonus = rules.getWinBonus();
+        this.jump = board.table();
+        this.tilePoints = scores.table();
+
+        this.tileFlags = new byte[finishTile + 1];
+        int every = rules.getDoubleTurnEvery();
+        for (int tile = every; every > 0 && tile < finishTile; tile += every) {
+            tileFlags[tile] = DOUBLE_TURN;
+        }
+        tileFlags[finishTile] = FINISH;
+    }
+
+    public GameRules getRules() {
+        return rules;
+    }
+
+    public JumpTable getBoard() {
+        return board;
+    }
+
+    public ScoreTable getScores() {
+        return scores;
+    }
+
+    public int getFinishTile() {
+        return finishTile;
+    }
+
+    public int getDieFaces() {
+        return dieFaces;
+    }
+
+    public double getForwardProbability() {
+        return forwardProbability;
+    }
+
+    public int getWinBonus() {
+        return winBonus;
+    }
+
+    /**
+     * Tile a roll lands on before any ladder, clamped to the board
+     */
+    public int landing(int position, int steps) {
+        return Math.max(1, Math.min(position + steps, finishTile));
+    }
+
+    /**
+     * Tile a move ends on after landing (ladders are only climbed going forward)
+     */
+    public int end(int landing, boolean forward) {
+        return forward ? jump[landing] : landing;
+    }
+
+    public boolean isDoubleTurn(int tile) {
+        return (tileFlags[tile] & DOUBLE_TURN) != 0;
+    }
+
+    public boolean isFinish(int tile) {
+        return (tileFlags[tile] & FINISH) != 0;
+    }
+}
@@ -1,7 +1,9 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 public class DiceGameGUI extends JFrame {
     public GameEngine gameEngine;
@@ -20,6 +22,14 @@ public class DiceGameGUI extends JFrame {
     private JCheckBox musicCheckBox;
     private JCheckBox soundCheckBox;
 
+    // Views that engine events have made stale; refreshed when the turn animation ends
+    private transient GameEventBatcher viewEvents;
+    private boolean playersChanged;
+    private boolean currentPlayerChanged;
+    private boolean scoresChanged;
+    private boolean distanceChanged;
+    private boolean leaderboardChanged;
+
     public DiceGameGUI() {
         showModernSetupDialog();
     }
@@ -28,6 +38,27 @@ public class DiceGameGUI extends JFrame {
         LadderFallSetup.showSetupDialog(this);
     }
 
+    /**
+     * Local engine, or a table on a GameServer when -Dladderfall.server=host:port is set.
+     * Local games use a larger board when -Dladderfall.boardSide=N is set.
+     */
+    static GameEngine createEngine(int numPlayers) {
+        String server = System.getProperty(RemoteGameEngine.SERVER_PROPERTY);
+        if (server != null) {
+            try {
+                return RemoteGameEngine.connect(server, numPlayers);
+            } catch (java.io.IOException | RuntimeException e) {
+                System.err.println("Could not connect to " + server + ", playing locally: " + e.getMessage());
+            }
+        }
+        int side = Integer.getInteger(GameEngine.BOARD_SIDE_PROPERTY, GameEngine.DEFAULT_BOARD_SIDE);
+        if (side < GameEngine.MIN_BOARD_SIDE || side > GameEngine.MAX_BOARD_SIDE) {
+            System.err.println("Board side " + side + " is out of range, using " + GameEngine.DEFAULT_BOARD_SIDE);
+            side = GameEngine.DEFAULT_BOARD_SIDE;
+        }
+        return new GameEngine(numPlayers, side, GameRandom.create());
+    }
+
     private void styleButton(JButton button, Color color1, Color color2) {
         button.setBackground(color1);
         button.setForeground(Color.WHITE);
@@ -83,6 +114,43 @@ public class DiceGameGUI extends JFrame {
         setLayout(new BorderLayout(10, 10));
         getContentPane().setBackground(new Color(240, 248, 255));
 
+        openMoveLog();
+        openLeaderboardStore();
+        // Events pile up while a turn animates and reach the listener below,
+        // merged per seat, when refreshChangedViews() flushes the batcher
+        viewEvents = new GameEventBatcher(null, new GameListener() {
+            public void playerMoved(GameEvent.PlayerMoved e) {
+                playersChanged = true;
+                distanceChanged = true;
+            }
+            public void ladderClimbed(GameEvent.LadderClimbed e) {
+                playersChanged = true;
+                distanceChanged = true;
+            }
+            public void scoreChanged(GameEvent.ScoreChanged e) {
+                playersChanged = true;
+                scoresChanged = true;
+            }
+            public void turnEnded(GameEvent.TurnEnded e) {
+                if (!e.isDoubleTurn()) {
+                    currentPlayerChanged = true;
+                    scoresChanged = true;
+                    distanceChanged = true;
+                }
+            }
+            public void gameWon(GameEvent.GameWon e) {
+                leaderboardChanged = true;
+            }
+            public void gameReset(GameEvent.GameReset e) {
+                playersChanged = true;
+                currentPlayerChanged = true;
+                scoresChanged = true;
+                distanceChanged = true;
+                leaderboardChanged = true;
+            }
+        });
+        gameEngine.addGameListener(viewEvents);
+
         boardPanel = new GameBoardPanel(gameEngine);
         add(boardPanel, BorderLayout.CENTER);
 
@@ -102,6 +170,50 @@ public class DiceGameGUI extends JFrame {
         updatePathDistance();
     }
 
+    /**
+     * Optional audit log, enabled with -Dladderfall.movelog=<directory>
+     */
+    private void openMoveLog() {
+        String dir = System.getProperty(MappedMoveLog.DIRECTORY_PROPERTY);
+        if (dir == null) return;
+
+        try {
+            MappedMoveLog log = new MappedMoveLog(java.nio.file.Paths.get(dir));
+            gameEngine.setMoveLog(log);
+            addWindowListener(new WindowAdapter() {
+                public void windowClosing(WindowEvent e) {
+                    log.close();
+                }
+            });
+        } catch (java.io.IOException e) {
+            System.err.println("Could not open move log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Optional saved leaderboard, enabled with -Dladderfall.leaderboard=<directory>
+     */
+    private void openLeaderboardStore() {
+        String dir = System.getProperty(LeaderboardStore.DIRECTORY_PROPERTY);
+        if (dir == null) return;
+
+        try {
+            LeaderboardStore store = new LeaderboardStore(java.nio.file.Paths.get(dir));
+            store.attach(gameEngine.getLeaderboard());
+            addWindowListener(new WindowAdapter() {
+                public void windowClosing(WindowEvent e) {
+                    try {
+                        store.close();
+                    } catch (java.io.IOException ex) {
+                        System.err.println("Could not save leaderboard: " + ex.getMessage());
+                    }
+                }
+            });
+        } catch (java.io.IOException e) {
+            System.err.println("Could not open leaderboard: " + e.getMessage());
+        }
+    }
+
     private JPanel createControlPanel() {
         JPanel panel = new JPanel();
         panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
@@ -133,6 +245,7 @@ public class DiceGameGUI extends JFrame {
         panel.add(Box.createRigidArea(new Dimension(0, 15)));
 
         dicePanel = new DicePanel();
+        dicePanel.setRandom(gameEngine.getRandom().effects());
         dicePanel.setAlignmentX(Component.CENTER_ALIGNMENT);
         panel.add(dicePanel);
         panel.add(Box.createRigidArea(new Dimension(0, 15)));
@@ -235,64 +348,123 @@ public class DiceGameGUI extends JFrame {
         SoundManager.getInstance().playSound("dice_roll");
 
         dicePanel.rollDice(() -> {
-            MoveRecord record = gameEngine.playTurn();
+            if (gameEngine instanceof RemoteGameEngine) {
+                rollRemote((RemoteGameEngine) gameEngine);
+            } else {
+                showTurn(gameEngine.playTurn());
+            }
+        });
+    }
 
-            if (record != null) {
-                boolean isGreen = record.getProbability() <= 0.7;
-                dicePanel.showResult(record.getDiceRoll(), isGreen);
+    /**
+     * The server round trip runs on a worker thread so the window keeps
+     * painting; the result is applied to the engine back on the EDT
+     */
+    private void rollRemote(RemoteGameEngine remote) {
+        new SwingWorker<RemoteGameEngine.Roll, Void>() {
+            @Override
+            protected RemoteGameEngine.Roll doInBackground() throws IOException {
+                return remote.sendRoll();
+            }
 
-                Player movedPlayer = null;
-                for (Player p : gameEngine.getAllPlayers()) {
-                    if (p.getName().equals(record.getPlayerName())) {
-                        movedPlayer = p;
-                        break;
-                    }
+            @Override
+            protected void done() {
+                try {
+                    showTurn(remote.applyRoll(get()));
+                } catch (ExecutionException e) {
+                    System.err.println("Could not reach the game server: " + e.getCause().getMessage());
+                    statusLabel.setText("Could not reach the server - try again");
+                    statusLabel.setForeground(Color.RED);
+                    playButton.setEnabled(true);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
                 }
+            }
+        }.execute();
+    }
+
+    private void showTurn(MoveRecord record) {
+        if (record != null) {
+            dicePanel.showResult(record.getDiceRoll(), record.isForward());
 
-                final Player finalMovedPlayer = movedPlayer;
-                updateMoveHistory(record);
-
-                // Animate step-by-step movement
-                if (finalMovedPlayer != null) {
-                    List<Integer> path = gameEngine.getPathfinder().getStepByStepPath(
-                            record.getFromPosition(), record.getToPosition());
-                    boardPanel.animateStepByStep(finalMovedPlayer, path, () -> {
-                        // After movement animation, check for ladder IMMEDIATELY
-                        Ladder usedLadder = boardPanel.checkForLadder(record.getToPosition());
-                        if (usedLadder != null && record.isForward()) {
-                            // Highlight the ladder being climbed
-                            boardPanel.setClimbingLadder(usedLadder);
-
-                            // Update player position and record
-                            finalMovedPlayer.setPosition(usedLadder.to);
-                            record.setLadder(usedLadder.from, usedLadder.to);
-                            SoundManager.getInstance().playSound("ladder");
-
-                            // INSTANT CLIMB - teleport directly from bottom to top
-                            boardPanel.animateInstantClimb(finalMovedPlayer, usedLadder.from, usedLadder.to, () -> {
-                                // After instant climb animation completes
-                                boardPanel.setClimbingLadder(null);
-                                finalizeTurn(record, finalMovedPlayer, usedLadder);
-                            });
-                        } else {
-                            finalizeTurn(record, finalMovedPlayer, null);
-                        }
-                    });
+            Player movedPlayer = null;
+            for (Player p : gameEngine.getAllPlayers()) {
+                if (p.getName().equals(record.getPlayerName())) {
+                    movedPlayer = p;
+                    break;
                 }
             }
-        });
+
+            final Player finalMovedPlayer = movedPlayer;
+            updateMoveHistory(record);
+
+            // Animate step-by-step movement to the tile the dice landed on
+            if (finalMovedPlayer != null) {
+                int landingPosition = record.hasLadder() ? record.getLadderFrom() : record.getToPosition();
+                List<Integer> path = gameEngine.getPathfinder().getStepByStepPath(
+                        record.getFromPosition(), landingPosition);
+                boardPanel.animateStepByStep(finalMovedPlayer, path, () -> {
+                    // The engine already climbed the ladder, so only animate it here
+                    Ladder usedLadder = record.hasLadder() ? gameEngine.getJumps().ladderAt(record.getLadderFrom()) : null;
+                    if (usedLadder != null) {
+                        // Highlight the ladder being climbed
+                        boardPanel.setClimbingLadder(usedLadder);
+                        SoundManager.getInstance().playSound("ladder");
+
+                        // INSTANT CLIMB - teleport directly from bottom to top
+                        boardPanel.animateInstantClimb(finalMovedPlayer, record.getLadderFrom(), record.getLadderTo(), () -> {
+                            // After instant climb animation completes
+                            boardPanel.setClimbingLadder(null);
+                            finalizeTurn(record, finalMovedPlayer, usedLadder);
+                        });
+                    } else {
+                        finalizeTurn(record, finalMovedPlayer, null);
+                    }
+                });
+            }
+        } else {
+            // A remote table refused the roll, e.g. because a bot there has not played yet
+            syncRemoteBoard();
+            refreshChangedViews();
+            statusLabel.setText("Waiting for the other players...");
+            playButton.setEnabled(!gameEngine.isGameOver());
+        }
+    }
+
+    /**
+     * Bots on a remote table move without animation; snap every token to
+     * the server position and pick up a new board
+     */
+    private void syncRemoteBoard() {
+        if (gameEngine instanceof RemoteGameEngine) {
+            boardPanel.updateLadders(gameEngine.getJumps());
+            boardPanel.syncPlayerPositions();
+        }
+    }
+
+    /**
+     * Update only the views whose data changed since the last refresh
+     */
+    private void refreshChangedViews() {
+        viewEvents.flush();
+        if (playersChanged) updatePlayerInfo();
+        if (currentPlayerChanged) updateCurrentPlayerLabel();
+        if (scoresChanged) updateScores();
+        if (distanceChanged) updatePathDistance();
+        if (leaderboardChanged) leaderboardPanel.updateLeaderboard(gameEngine.getLeaderboard());
+
+        playersChanged = false;
+        currentPlayerChanged = false;
+        scoresChanged = false;
+        distanceChanged = false;
+        leaderboardChanged = false;
     }
 
     private void finalizeTurn(MoveRecord record, Player movedPlayer, Ladder usedLadder) {
-        updatePlayerInfo();
-        updateCurrentPlayerLabel();
-        updateScores();
-        updatePathDistance();
-        leaderboardPanel.updateLeaderboard(gameEngine.getLeaderboard());
+        syncRemoteBoard();
+        refreshChangedViews();
 
-        boolean doubleTurn = (record.getToPosition() % 5 == 0 &&
-                record.getToPosition() > 0 &&
-                record.getToPosition() < 64);
+        boolean doubleTurn = record.isDoubleTurn();
 
         if (gameEngine.isGameOver()) {
             SoundManager.getInstance().playSound("win");
@@ -300,10 +472,9 @@ public class DiceGameGUI extends JFrame {
         } else {
             if (usedLadder != null) {
                 String ladderMsg = String.format("🪜 %s climbed a ladder! (%d→%d)",
-                        movedPlayer.getName(), usedLadder.from, usedLadder.to);
+                        movedPlayer.getName(), record.getLadderFrom(), record.getLadderTo());
                 statusLabel.setText(ladderMsg);
                 statusLabel.setForeground(new Color(255, 140, 0));
-                updateMoveHistory(record);
             } else if (doubleTurn) {
                 SoundManager.getInstance().playSound("bonus");
                 statusLabel.setText("DOUBLE TURN! " + movedPlayer.getName() + " goes again!");
@@ -434,7 +605,7 @@ public class DiceGameGUI extends JFrame {
 
     private void updatePathDistance() {
         Player current = gameEngine.getCurrentPlayer();
-        int distance = gameEngine.getPathfinder().shortestDistance(current.getPosition(), 64);
+        int distance = gameEngine.getPathfinder().distanceToFinish(current.getPosition());
         pathDistanceLabel.setText("Min Moves to Finish: " + distance);
     }
 
@@ -445,17 +616,13 @@ public class DiceGameGUI extends JFrame {
         statusLabel.setForeground(Color.BLACK);
         playButton.setEnabled(true);
         dicePanel.reset();
-        boardPanel.updateLadders(gameEngine.getLadders());
+        boardPanel.updateLadders(gameEngine.getJumps());
         boardPanel.setClimbingLadder(null);
 
         // Reset all player visual positions to start (position 1)
         boardPanel.resetAllPlayerPositions();
 
-        updatePlayerInfo();
-        updateCurrentPlayerLabel();
-        updateScores();
-        updatePathDistance();
-        leaderboardPanel.updateLeaderboard(gameEngine.getLeaderboard());
+        refreshChangedViews(); // The engine reported a GameReset
         boardPanel.repaint();
     }
 
@@ -503,7 +670,10 @@ class LeaderboardPanel extends JPanel {
         add(fastestTimeLabel);
     }
 
-    public void updateLeaderboard(Leaderboard leaderboard) {
+    public void updateLeaderboard(Leaderboard board) {
+        // One snapshot, so the name and value shown always belong together
+        Leaderboard.Snapshot leaderboard = board.snapshot();
+
         if (leaderboard.getHighestScore() > 0) {
             topScoreLabel.setText("👑 Top: " + leaderboard.getHighestScorePlayer() +
                     " - " + leaderboard.getHighestScore() + " pts!");
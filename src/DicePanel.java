@@ -1,22 +1,44 @@
 import javax.swing.*;
 import java.awt.*;
-import java.awt.geom.*;
+import java.util.random.RandomGenerator;
 
 public class DicePanel extends JPanel {
+    private static final long ROLL_STEP_NANOS = 50_000_000L; // One random face per step
+    private static final int ROLL_STEPS = 21;
+    private static final long EFFECT_STEP_NANOS = 30_000_000L; // One bounce and particle step
+    private static final int PARTICLE_CAPACITY = 4096; // Room for win celebrations; further sparks are dropped
+    private static final int DICE_SIZE = 90;
+    private static final int PIP_SIZE = 14;
+    private static final int PIP_PADDING = 20;
+    private static final int[][][] PIPS = new int[7][][]; // Pip centres by face value, relative to the dice corner
+    private static final RadialGradientPaint PIP_GRADIENT = new RadialGradientPaint(
+            -2, -2, PIP_SIZE / 2,
+            new float[]{0f, 1f},
+            new Color[]{new Color(80, 80, 80), new Color(30, 30, 30)}
+    ); // Centred on the pip being drawn by translating to it
+
     private int currentValue = 1;
     private boolean isRolling = false;
-    private Color diceColor = new Color(255, 255, 255);
+    private Color diceColor = Color.WHITE;
+    private Color diceHighlight = diceColor.brighter();
     private double rotationAngle = 0;
     private double perspectiveScale = 1.0;
     private int bounceOffset = 0;
-    private Timer visualEffectTimer;
+    private transient AnimationClock.Animation visualEffect;
+    private transient RandomGenerator random = new java.util.SplittableRandom(); // Visual effects only
 
     // 3D rotation angles for cool effect
     private double rotationX = 0;
     private double rotationY = 0;
 
     // Particle effects
-    private java.util.List<Particle> particles = new java.util.ArrayList<>();
+    private final ParticleSystem particles = new ParticleSystem(PARTICLE_CAPACITY);
+
+    static {
+        for (int value = 1; value <= 6; value++) {
+            PIPS[value] = getDotPositions(value, 0, 0, DICE_SIZE, PIP_PADDING);
+        }
+    }
 
     public DicePanel() {
         setPreferredSize(new Dimension(120, 120));
@@ -25,31 +47,43 @@ public class DicePanel extends JPanel {
         setOpaque(false);
     }
 
+    /**
+     * Use the game's effects stream so animations never consume dice draws
+     */
+    public void setRandom(RandomGenerator random) {
+        this.random = random;
+    }
+
     public void rollDice(Runnable onComplete) {
         isRolling = true;
-        diceColor = new Color(255, 255, 255);
+        setDiceColor(Color.WHITE);
         particles.clear();
 
-        Timer rollTimer = new Timer(50, null);
+        final long start = System.nanoTime();
         final int[] rollCount = {0};
 
-        rollTimer.addActionListener(e -> {
-            currentValue = (int)(Math.random() * 6) + 1;
-            rotationAngle += 45;
-            rotationX += 30;
-            rotationY += 25;
-            perspectiveScale = 0.9 + Math.random() * 0.2;
-
-            // Add sparkle particles during roll
-            if (rollCount[0] % 3 == 0) {
-                addSparkles();
+        AnimationClock.getInstance().start(now -> {
+            // Take every step that is due, so a late frame does not slow the roll down
+            int due = (int) Math.min(ROLL_STEPS, (now - start) / ROLL_STEP_NANOS);
+            if (rollCount[0] >= due) return true;
+
+            while (rollCount[0] < due) {
+                currentValue = (int)(random.nextDouble() * 6) + 1;
+                rotationAngle += 45;
+                rotationX += 30;
+                rotationY += 25;
+                perspectiveScale = 0.9 + random.nextDouble() * 0.2;
+
+                // Add sparkle particles during roll
+                if (rollCount[0] % 3 == 0) {
+                    addSparkles();
+                }
+                rollCount[0]++;
             }
 
             repaint();
 
-            rollCount[0]++;
-            if (rollCount[0] > 20) {
-                rollTimer.stop();
+            if (rollCount[0] >= ROLL_STEPS) {
                 isRolling = false;
                 rotationX = 0;
                 rotationY = 0;
@@ -58,51 +92,52 @@ public class DicePanel extends JPanel {
                 if (onComplete != null) {
                     onComplete.run();
                 }
+                return false;
             }
+            return true;
         });
-
-        rollTimer.start();
     }
 
     public void showResult(int value, boolean isGreen) {
         currentValue = value;
-        diceColor = isGreen ? new Color(144, 238, 144) : new Color(255, 160, 160);
+        setDiceColor(isGreen ? PaintCache.color(144, 238, 144) : PaintCache.color(255, 160, 160));
 
         // Create celebration particles
         createCelebrationParticles(isGreen);
 
         // Bounce animation
+        final long start = System.nanoTime();
         final int[] bounceCount = {0};
-        if (visualEffectTimer != null) visualEffectTimer.stop();
-
-        visualEffectTimer = new Timer(30, null);
-        visualEffectTimer.addActionListener(e -> {
-            bounceOffset = (int)(Math.sin(bounceCount[0] * 0.3) * 10 * Math.exp(-bounceCount[0] * 0.05));
-
-            // Update particles
-            for (int i = particles.size() - 1; i >= 0; i--) {
-                Particle p = particles.get(i);
-                p.update();
-                if (p.isDead()) {
-                    particles.remove(i);
-                }
-            }
+        AnimationClock clock = AnimationClock.getInstance();
+        if (visualEffect != null) clock.stop(visualEffect);
 
-            repaint();
-            bounceCount[0]++;
+        visualEffect = now -> {
+            long due = (now - start) / EFFECT_STEP_NANOS;
+            if (bounceCount[0] >= due) return true;
+
+            while (bounceCount[0] < due) {
+                bounceOffset = (int)(Math.sin(bounceCount[0] * 0.3) * 10 * Math.exp(-bounceCount[0] * 0.05));
+
+                // Update particles
+                particles.step();
+                bounceCount[0]++;
 
-            if (bounceCount[0] > 50 && particles.isEmpty()) {
-                visualEffectTimer.stop();
-                bounceOffset = 0;
+                if (bounceCount[0] > 50 && particles.isEmpty()) {
+                    bounceOffset = 0;
+                    repaint();
+                    return false;
+                }
             }
-        });
 
-        visualEffectTimer.start();
+            repaint();
+            return true;
+        };
+        clock.start(visualEffect);
     }
 
     public void reset() {
         currentValue = 1;
-        diceColor = new Color(255, 255, 255);
+        setDiceColor(Color.WHITE);
         isRolling = false;
         rotationAngle = 0;
         rotationX = 0;
@@ -110,24 +145,30 @@ public class DicePanel extends JPanel {
         perspectiveScale = 1.0;
         bounceOffset = 0;
         particles.clear();
-        if (visualEffectTimer != null) visualEffectTimer.stop();
+        if (visualEffect != null) AnimationClock.getInstance().stop(visualEffect);
         repaint();
     }
 
+    private void setDiceColor(Color color) {
+        diceColor = color;
+        diceHighlight = color.brighter();
+    }
+
     private void addSparkles() {
         int centerX = getWidth() / 2;
         int centerY = getHeight() / 2;
 
         for (int i = 0; i < 3; i++) {
-            double angle = Math.random() * Math.PI * 2;
-            double speed = 2 + Math.random() * 3;
-            particles.add(new Particle(
+            double angle = random.nextDouble() * Math.PI * 2;
+            double speed = 2 + random.nextDouble() * 3;
+            particles.spawn(
                     centerX, centerY,
                     Math.cos(angle) * speed,
                     Math.sin(angle) * speed,
-                    new Color(255, 255, 100, 200),
+                    PaintCache.color(255, 255, 100, 200),
+                    3 + random.nextDouble() * 4,
                     15
-            ));
+            );
         }
     }
 
@@ -136,19 +177,20 @@ public class DicePanel extends JPanel {
         int centerY = getHeight() / 2;
 
         Color particleColor = isGreen ?
-                new Color(50, 255, 50, 200) :
-                new Color(255, 50, 50, 200);
+                PaintCache.color(50, 255, 50, 200) :
+                PaintCache.color(255, 50, 50, 200);
 
         for (int i = 0; i < 12; i++) {
             double angle = (Math.PI * 2 * i) / 12;
-            double speed = 3 + Math.random() * 2;
-            particles.add(new Particle(
+            double speed = 3 + random.nextDouble() * 2;
+            particles.spawn(
                     centerX, centerY,
                     Math.cos(angle) * speed,
                     Math.sin(angle) * speed,
                     particleColor,
+                    3 + random.nextDouble() * 4,
                     30
-            ));
+            );
         }
     }
 
@@ -159,19 +201,17 @@ public class DicePanel extends JPanel {
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
 
-        int size = 90;
+        int size = DICE_SIZE;
         int x = (getWidth() - size) / 2;
         int y = (getHeight() - size) / 2 - bounceOffset;
 
         // Draw particles first (behind dice)
-        for (Particle p : particles) {
-            p.draw(g2d);
-        }
+        particles.draw(g2d);
 
         // Draw glow effect
         if (!isRolling) {
             for (int i = 3; i > 0; i--) {
-                g2d.setColor(new Color(diceColor.getRed(), diceColor.getGreen(), diceColor.getBlue(), 30 - i * 8));
+                g2d.setColor(PaintCache.color(diceColor, 30 - i * 8));
                 g2d.fillRoundRect(x - i * 4, y - i * 4, size + i * 8, size + i * 8, 20 + i * 2, 20 + i * 2);
             }
         }
@@ -189,65 +229,68 @@ public class DicePanel extends JPanel {
     }
 
     private void drawRotatingDice(Graphics2D g2d, int x, int y, int size) {
+        double angle = Math.toRadians(rotationAngle);
         g2d.translate(x + size/2, y + size/2);
-        g2d.rotate(Math.toRadians(rotationAngle));
+        g2d.rotate(angle);
         g2d.scale(perspectiveScale, perspectiveScale);
         g2d.translate(-size/2, -size/2);
 
         // Dice shadow with blur
-        g2d.setColor(new Color(0, 0, 0, 40));
+        g2d.setColor(PaintCache.color(0, 0, 0, 40));
         for (int i = 0; i < 3; i++) {
             g2d.fillRoundRect(3 + i, 3 + i, size, size, 18 - i * 2, 18 - i * 2);
         }
 
         // Dice body with gradient
-        GradientPaint gradient = new GradientPaint(
-                0, 0, new Color(255, 255, 255),
-                size, size, new Color(220, 220, 220)
-        );
-        g2d.setPaint(gradient);
+        g2d.setPaint(PaintCache.gradient(
+                0, 0, Color.WHITE,
+                size, size, PaintCache.color(220, 220, 220)
+        ));
         g2d.fillRoundRect(0, 0, size, size, 18, 18);
 
         // Border
-        g2d.setColor(new Color(180, 180, 180));
-        g2d.setStroke(new BasicStroke(3));
+        g2d.setColor(PaintCache.color(180, 180, 180));
+        g2d.setStroke(PaintCache.stroke(3));
         g2d.drawRoundRect(0, 0, size, size, 18, 18);
 
         // Random dots during rolling
-        g2d.setColor(new Color(60, 60, 60, 150));
+        g2d.setColor(PaintCache.color(60, 60, 60, 150));
         int dotSize = 10;
         for (int i = 0; i < currentValue; i++) {
-            int dx = (int)(Math.random() * (size - 30)) + 15;
-            int dy = (int)(Math.random() * (size - 30)) + 15;
+            int dx = (int)(random.nextDouble() * (size - 30)) + 15;
+            int dy = (int)(random.nextDouble() * (size - 30)) + 15;
             g2d.fillOval(dx - dotSize/2, dy - dotSize/2, dotSize, dotSize);
         }
 
-        g2d.setTransform(new AffineTransform());
+        // Undo the rotation in reverse order, back to the panel's own transform
+        g2d.translate(size/2, size/2);
+        g2d.scale(1 / perspectiveScale, 1 / perspectiveScale);
+        g2d.rotate(-angle);
+        g2d.translate(-(x + size/2), -(y + size/2));
     }
 
     private void drawStaticDice(Graphics2D g2d, int x, int y, int size) {
         // Multi-layer shadow for depth
         for (int i = 6; i > 0; i--) {
-            g2d.setColor(new Color(0, 0, 0, 8 - i));
+            g2d.setColor(PaintCache.color(0, 0, 0, 8 - i));
             g2d.fillRoundRect(x + i, y + i, size, size, 20, 20);
         }
 
         // Dice body with beautiful gradient
-        GradientPaint bodyGradient = new GradientPaint(
-                x, y, diceColor.brighter(),
+        g2d.setPaint(PaintCache.gradient(
+                x, y, diceHighlight,
                 x + size, y + size, diceColor
-        );
-        g2d.setPaint(bodyGradient);
+        ));
         g2d.fillRoundRect(x, y, size, size, 20, 20);
 
         // Inner shadow for depth
-        g2d.setColor(new Color(0, 0, 0, 30));
-        g2d.setStroke(new BasicStroke(2));
+        g2d.setColor(PaintCache.color(0, 0, 0, 30));
+        g2d.setStroke(PaintCache.stroke(2));
         g2d.drawRoundRect(x + 3, y + 3, size - 6, size - 6, 17, 17);
 
         // Outer border with shine
-        g2d.setColor(new Color(200, 200, 200));
-        g2d.setStroke(new BasicStroke(3));
+        g2d.setColor(PaintCache.color(200, 200, 200));
+        g2d.setStroke(PaintCache.stroke(3));
         g2d.drawRoundRect(x, y, size, size, 20, 20);
 
         // Draw dots with 3D effect
@@ -255,33 +298,32 @@ public class DicePanel extends JPanel {
     }
 
     private void drawDotsWithShadow(Graphics2D g2d, int x, int y, int size, int value) {
-        int dotSize = 14;
-        int padding = 20;
+        int dotSize = PIP_SIZE;
+        if (value < 1 || value > 6) return;
 
-        // Dot positions
-        int[][] positions = getDotPositions(value, x, y, size, padding);
+        for (int[] pip : PIPS[value]) {
+            // Draw around the pip's centre, so one gradient serves every pip
+            int px = x + pip[0];
+            int py = y + pip[1];
+            g2d.translate(px, py);
 
-        for (int[] pos : positions) {
             // Dot shadow
-            g2d.setColor(new Color(0, 0, 0, 60));
-            g2d.fillOval(pos[0] - dotSize/2 + 2, pos[1] - dotSize/2 + 2, dotSize, dotSize);
+            g2d.setColor(PaintCache.color(0, 0, 0, 60));
+            g2d.fillOval(-dotSize/2 + 2, -dotSize/2 + 2, dotSize, dotSize);
 
             // Dot with gradient
-            RadialGradientPaint dotGradient = new RadialGradientPaint(
-                    pos[0] - 2, pos[1] - 2, dotSize/2,
-                    new float[]{0f, 1f},
-                    new Color[]{new Color(80, 80, 80), new Color(30, 30, 30)}
-            );
-            g2d.setPaint(dotGradient);
-            g2d.fillOval(pos[0] - dotSize/2, pos[1] - dotSize/2, dotSize, dotSize);
+            g2d.setPaint(PIP_GRADIENT);
+            g2d.fillOval(-dotSize/2, -dotSize/2, dotSize, dotSize);
 
             // Dot highlight
-            g2d.setColor(new Color(255, 255, 255, 80));
-            g2d.fillOval(pos[0] - dotSize/2 + 2, pos[1] - dotSize/2 + 2, dotSize/3, dotSize/3);
+            g2d.setColor(PaintCache.color(255, 255, 255, 80));
+            g2d.fillOval(-dotSize/2 + 2, -dotSize/2 + 2, dotSize/3, dotSize/3);
+
+            g2d.translate(-px, -py);
         }
     }
 
-    private int[][] getDotPositions(int value, int x, int y, int size, int padding) {
+    private static int[][] getDotPositions(int value, int x, int y, int size, int padding) {
         int cx = x + size/2;
         int cy = y + size/2;
         int left = x + padding;
@@ -309,63 +351,10 @@ public class DicePanel extends JPanel {
 
     private void drawShineEffect(Graphics2D g2d, int x, int y, int size) {
         // Top-left shine
-        GradientPaint shine = new GradientPaint(
-                x + 10, y + 10, new Color(255, 255, 255, 100),
-                x + size/2, y + size/2, new Color(255, 255, 255, 0)
-        );
-        g2d.setPaint(shine);
+        g2d.setPaint(PaintCache.gradient(
+                x + 10, y + 10, PaintCache.color(255, 255, 255, 100),
+                x + size/2, y + size/2, PaintCache.color(255, 255, 255, 0)
+        ));
         g2d.fillRoundRect(x + 8, y + 8, size/2, size/2, 15, 15);
     }
-
-    // Particle class for special effects
-    private class Particle {
-        double x, y;
-        double vx, vy;
-        Color color;
-        int life;
-        int maxLife;
-        double size;
-
-        Particle(double x, double y, double vx, double vy, Color color, int maxLife) {
-            this.x = x;
-            this.y = y;
-            this.vx = vx;
-            this.vy = vy;
-            this.color = color;
-            this.life = maxLife;
-            this.maxLife = maxLife;
-            this.size = 3 + Math.random() * 4;
-        }
-
-        void update() {
-            x += vx;
-            y += vy;
-            vy += 0.3; // gravity
-            vx *= 0.98; // air resistance
-            vy *= 0.98;
-            life--;
-        }
-
-        boolean isDead() {
-            return life <= 0;
-        }
-
-        void draw(Graphics2D g2d) {
-            float alpha = (float)life / maxLife;
-            Color fadeColor = new Color(
-                    color.getRed(),
-                    color.getGreen(),
-                    color.getBlue(),
-                    (int)(alpha * color.getAlpha())
-            );
-
-            g2d.setColor(fadeColor);
-            double currentSize = size * alpha;
-            g2d.fill(new Ellipse2D.Double(x - currentSize/2, y - currentSize/2, currentSize, currentSize));
-
-            // Glow effect
-            g2d.setColor(new Color(fadeColor.getRed(), fadeColor.getGreen(), fadeColor.getBlue(), (int)(alpha * 50)));
-            g2d.fill(new Ellipse2D.Double(x - currentSize, y - currentSize, currentSize * 2, currentSize * 2));
-        }
-    }
-}
\ No newline at end of file
+}
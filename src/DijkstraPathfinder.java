@@ -1,137 +1,256 @@
 import java.util.*;
 
+/**
+ * Shortest paths over the board using Dijkstra's algorithm with a bucket
+ * queue (Dial's algorithm). All bookkeeping is in int arrays that are
+ * reused between queries, so one instance must not be searched from
+ * several threads at once.
+ */
 public class DijkstraPathfinder {
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
     private int boardSize;
-    private Ladder[] ladders;
-    private Map<Integer, Integer> ladderMap; // from -> to
+    private JumpTable jumps;
+    private int dieFaces;
+    private double forwardProbability; // Only used for expected moves
+    private int[] jump; // Tile a forward landing ends on (see JumpTable)
+    private int[] landingCost; // Cost of a roll landing on each tile, null when every move costs 1
+    private double[] expectedMoves; // Solved lazily, then reused for this board
+    private int[] distanceToFinish; // Min cost from each tile to the last tile
+
+    // Search scratch space, reused by every query
+    private int[] dist;
+    private int[] parent;
+    private int[] visitStamp;
+    private int stamp;
+    private BucketQueue queue;
 
     public DijkstraPathfinder(int boardSize, Ladder[] ladders) {
-        this.boardSize = boardSize;
-        this.ladders = ladders;
-        this.ladderMap = new HashMap<>();
+        this(new JumpTable(boardSize, ladders), null);
+    }
 
-        // Build ladder map for quick lookup
-        for (Ladder ladder : ladders) {
-            ladderMap.put(ladder.from, ladder.to);
-        }
+    public DijkstraPathfinder(JumpTable jumps) {
+        this(jumps, null);
     }
 
     /**
-     * Find shortest path from start to goal using Dijkstra's algorithm
-     * Returns the distance (number of moves)
+     * Board and dice of a game's compiled rules
      */
-    public int shortestDistance(int start, int goal) {
-        if (start == goal) return 0;
-        if (start > goal || start < 1 || goal > boardSize) return Integer.MAX_VALUE;
-
-        // Priority queue: (distance, position)
-        PriorityQueue<Node> pq = new PriorityQueue<>((a, b) -> a.distance - b.distance);
-        Map<Integer, Integer> distances = new HashMap<>();
+    public DijkstraPathfinder(CompiledRules rules) {
+        this(rules.getBoard(), null, rules.getDieFaces(), rules.getForwardProbability());
+    }
 
-        // Initialize
-        pq.offer(new Node(start, 0));
-        distances.put(start, 0);
+    /**
+     * Weighted board: landingCost[t] is the cost of a roll that lands on
+     * tile t (before any ladder is taken). Costs must be non-negative.
+     */
+    public DijkstraPathfinder(int boardSize, Ladder[] ladders, int[] landingCost) {
+        this(new JumpTable(boardSize, ladders), landingCost);
+    }
 
-        while (!pq.isEmpty()) {
-            Node current = pq.poll();
-            int pos = current.position;
-            int dist = current.distance;
+    public DijkstraPathfinder(JumpTable jumps, int[] landingCost) {
+        this(jumps, landingCost, 6, GameEngine.FORWARD_PROBABILITY);
+    }
 
-            // If we reached the goal
-            if (pos == goal) {
-                return dist;
+    private DijkstraPathfinder(JumpTable jumps, int[] landingCost, int dieFaces, double forwardProbability) {
+        this.boardSize = jumps.getBoardSize();
+        this.dieFaces = dieFaces;
+        this.forwardProbability = forwardProbability;
+        this.jumps = jumps;
+        this.jump = jumps.table();
+        this.landingCost = landingCost;
+
+        int maxCost = 1;
+        if (landingCost != null) {
+            if (landingCost.length <= boardSize) {
+                throw new IllegalArgumentException("landingCost needs an entry for every tile");
             }
-
-            // Skip if we've already processed this with a better distance
-            if (dist > distances.getOrDefault(pos, Integer.MAX_VALUE)) {
-                continue;
+            for (int tile = 1; tile <= boardSize; tile++) {
+                if (landingCost[tile] < 0) {
+                    throw new IllegalArgumentException("Negative landing cost on tile " + tile);
+                }
+                maxCost = Math.max(maxCost, landingCost[tile]);
             }
+        }
 
-            // Try all possible dice rolls (1-6)
-            for (int diceRoll = 1; diceRoll <= 6; diceRoll++) {
-                int nextPos = pos + diceRoll;
+        this.dist = new int[boardSize + 1];
+        this.parent = new int[boardSize + 1];
+        this.visitStamp = new int[boardSize + 1];
+        this.queue = new BucketQueue(boardSize + 1, maxCost);
 
-                // Check bounds
-                if (nextPos > boardSize) continue;
+        this.distanceToFinish = buildDistanceToFinish();
+    }
 
-                // Check if there's a ladder at this position
-                if (ladderMap.containsKey(nextPos)) {
-                    nextPos = ladderMap.get(nextPos);
-                }
+    private int cost(int landing) {
+        return landingCost == null ? 1 : landingCost[landing];
+    }
 
-                int newDist = dist + 1;
+    /**
+     * Reverse search from the last tile, so one pass gives the distance
+     * of every tile. With unit costs the bucket queue behaves like BFS.
+     */
+    private int[] buildDistanceToFinish() {
+        int[] result = new int[boardSize + 1];
+        Arrays.fill(result, UNREACHABLE);
+
+        // Ladders grouped by top as linked lists: firstFoot[top] -> nextFoot[foot] -> ...
+        boolean[] isFoot = new boolean[boardSize + 1];
+        int[] firstFoot = new int[boardSize + 1];
+        int[] nextFoot = new int[boardSize + 1];
+        for (int foot = 1; foot <= boardSize; foot++) {
+            int top = jump[foot];
+            if (top == foot) continue;
+            isFoot[foot] = true;
+            nextFoot[foot] = firstFoot[top];
+            firstFoot[top] = foot;
+        }
+
+        queue.clear();
+        result[boardSize] = 0;
+        queue.add(boardSize, 0);
+
+        while (!queue.isEmpty()) {
+            int target = queue.poll();
+            int targetDist = queue.currentKey();
+
+            // Tiles that reach 'target' by landing on it directly (a ladder foot is never a resting place)
+            if (!isFoot[target]) {
+                relaxPredecessors(result, target, targetDist + cost(target));
+            }
 
-                // Update if we found a shorter path
-                if (newDist < distances.getOrDefault(nextPos, Integer.MAX_VALUE)) {
-                    distances.put(nextPos, newDist);
-                    pq.offer(new Node(nextPos, newDist));
+            // Tiles that reach 'target' by landing on a ladder foot
+            for (int foot = firstFoot[target]; foot != 0; foot = nextFoot[foot]) {
+                relaxPredecessors(result, foot, targetDist + cost(foot));
+            }
+        }
+
+        return result;
+    }
+
+    private void relaxPredecessors(int[] result, int landing, int newDist) {
+        for (int diceRoll = 1; diceRoll <= dieFaces && landing - diceRoll >= 1; diceRoll++) {
+            int pos = landing - diceRoll;
+            if (newDist < result[pos]) {
+                if (result[pos] == UNREACHABLE) {
+                    queue.add(pos, newDist);
+                } else {
+                    queue.decreaseKey(pos, result[pos], newDist);
                 }
+                result[pos] = newDist;
             }
         }
+    }
 
-        return distances.getOrDefault(goal, Integer.MAX_VALUE);
+    /**
+     * Minimum number of moves from a position to the last tile.
+     * Precomputed for this board, so it takes constant time.
+     */
+    public int distanceToFinish(int position) {
+        if (position >= boardSize) return 0;
+        if (position < 1) return UNREACHABLE;
+        return distanceToFinish[position];
     }
 
     /**
-     * Find the complete shortest path from start to goal
-     * Returns a list of positions
+     * Forward Dijkstra from start, stopping once goal is settled.
+     * Leaves dist/parent filled for every tile reached in this search.
      */
-    public List<Integer> shortestPath(int start, int goal) {
-        if (start == goal) {
-            return Arrays.asList(start);
+    private int search(int start, int goal) {
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(visitStamp, 0);
+            stamp = 1;
         }
 
-        // Priority queue and tracking
-        PriorityQueue<Node> pq = new PriorityQueue<>((a, b) -> a.distance - b.distance);
-        Map<Integer, Integer> distances = new HashMap<>();
-        Map<Integer, Integer> previous = new HashMap<>();
-
-        pq.offer(new Node(start, 0));
-        distances.put(start, 0);
-
-        while (!pq.isEmpty()) {
-            Node current = pq.poll();
-            int pos = current.position;
-            int dist = current.distance;
+        queue.clear();
+        visitStamp[start] = stamp;
+        dist[start] = 0;
+        parent[start] = 0;
+        queue.add(start, 0);
 
+        while (!queue.isEmpty()) {
+            int pos = queue.poll();
             if (pos == goal) {
-                break;
+                return dist[pos];
             }
 
-            if (dist > distances.getOrDefault(pos, Integer.MAX_VALUE)) {
-                continue;
+            // Try all possible dice rolls (1-6 with the classic die)
+            for (int diceRoll = 1; diceRoll <= dieFaces; diceRoll++) {
+                int landing = pos + diceRoll;
+                if (landing > boardSize) break;
+
+                // Climb the ladder (or chain of ladders) if present
+                int nextPos = jump[landing];
+                int newDist = dist[pos] + cost(landing);
+
+                if (visitStamp[nextPos] != stamp) {
+                    visitStamp[nextPos] = stamp;
+                    dist[nextPos] = newDist;
+                    parent[nextPos] = pos;
+                    queue.add(nextPos, newDist);
+                } else if (newDist < dist[nextPos]) {
+                    queue.decreaseKey(nextPos, dist[nextPos], newDist);
+                    dist[nextPos] = newDist;
+                    parent[nextPos] = pos;
+                }
             }
+        }
 
-            for (int diceRoll = 1; diceRoll <= 6; diceRoll++) {
-                int nextPos = pos + diceRoll;
+        return UNREACHABLE;
+    }
 
-                if (nextPos > boardSize) continue;
+    private boolean onBoard(int position) {
+        return position >= 1 && position <= boardSize;
+    }
 
-                // Apply ladder if present
-                if (ladderMap.containsKey(nextPos)) {
-                    nextPos = ladderMap.get(nextPos);
-                }
+    /**
+     * Find shortest path from start to goal using Dijkstra's algorithm
+     * Returns the distance (number of moves, or total cost on weighted boards)
+     */
+    public int shortestDistance(int start, int goal) {
+        if (start == goal) return 0;
+        if (!onBoard(start) || !onBoard(goal)) return UNREACHABLE;
+        if (goal == boardSize) return distanceToFinish[start];
 
-                int newDist = dist + 1;
+        return search(start, goal);
+    }
 
-                if (newDist < distances.getOrDefault(nextPos, Integer.MAX_VALUE)) {
-                    distances.put(nextPos, newDist);
-                    previous.put(nextPos, pos);
-                    pq.offer(new Node(nextPos, newDist));
-                }
-            }
+    /**
+     * Find the complete shortest path from start to goal
+     * Returns the tiles in order, or an empty array when goal is unreachable
+     */
+    public int[] shortestPathTiles(int start, int goal) {
+        if (start == goal) {
+            return new int[]{start};
+        }
+        if (!onBoard(start) || !onBoard(goal) || search(start, goal) == UNREACHABLE) {
+            return new int[0];
         }
 
-        // Reconstruct path
-        List<Integer> path = new ArrayList<>();
-        Integer current = goal;
+        // Walk back once to size the array, then fill it from the end
+        int length = 0;
+        for (int pos = goal; pos != 0; pos = parent[pos]) {
+            length++;
+        }
 
-        while (current != null) {
-            path.add(0, current);
-            current = previous.get(current);
+        int[] path = new int[length];
+        int index = length;
+        for (int pos = goal; pos != 0; pos = parent[pos]) {
+            path[--index] = pos;
         }
+        return path;
+    }
 
-        return path.isEmpty() || path.get(0) != start ? new ArrayList<>() : path;
+    /**
+     * Find the complete shortest path from start to goal
+     * Returns a list of positions
+     */
+    public List<Integer> shortestPath(int start, int goal) {
+        int[] tiles = shortestPathTiles(start, goal);
+        List<Integer> path = new ArrayList<>(tiles.length);
+        for (int tile : tiles) {
+            path.add(tile);
+        }
+        return path;
     }
 
     /**
@@ -159,28 +278,16 @@ public class DijkstraPathfinder {
     }
 
     /**
-     * Inner class for priority queue nodes
-     */
-    private static class Node {
-        int position;
-        int distance;
-
-        Node(int position, int distance) {
-            this.position = position;
-            this.distance = distance;
-        }
-    }
-
-    /**
-     * Calculate expected moves to finish from any position
+     * Exact expected number of moves to finish from any position,
+     * including backward rolls and ladders. Solved once per board.
      */
     public double expectedMovesToFinish(int position) {
         if (position >= boardSize) return 0;
 
-        int minMoves = shortestDistance(position, boardSize);
+        if (expectedMoves == null) {
+            expectedMoves = ExpectedMovesSolver.solve(jumps, forwardProbability, dieFaces);
+        }
 
-        // Account for probability of backward moves
-        // Expected moves is roughly minMoves * 1.5 due to 30% backward probability
-        return minMoves * 1.5;
+        return expectedMoves[Math.max(position, 0)];
     }
 }
\ No newline at end of file
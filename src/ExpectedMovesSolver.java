@@ -0,0 +1,150 @@
+/**
+ * Exact expected number of moves to finish for every tile.
+ * The board is an absorbing Markov chain: each roll moves 1 to dieFaces
+ * tiles (1-6 on the classic die) forward, climbing ladders, with
+ * forwardProbability, otherwise backward (clamped at tile 1), and the
+ * finish tile is the only absorbing state.
+ *
+ * The linear system E = 1 + Q * E is banded: a tile only depends on the
+ * dieFaces tiles on either side, plus the tops of ladders within reach. It is
+ * eliminated from the finish down, writing each tile as a combination of
+ * the dieFaces tiles below it, and then solved upwards from tile 1. A ladder
+ * widens only the dieFaces rows that can reach its foot, so a board needs
+ * O(tiles) memory and time instead of the O(tiles^2) matrix and O(tiles^3)
+ * elimination of a dense solve. Boards with ladders that lead down (never
+ * generated by GameEngine) break the band and are solved with
+ * Gauss-Seidel sweeps instead.
+ */
+public final class ExpectedMovesSolver {
+    private static final int DIE_FACES = 6; // Classic die
+    private static final double TOLERANCE = 1e-12; // Relative change at which a Gauss-Seidel sweep counts as converged
+    private static final int MAX_SWEEPS = 100_000;
+
+    private ExpectedMovesSolver() {
+    }
+
+    /**
+     * Solve the chain for a board with the classic die.
+     * Returns an array indexed by position (1..boardSize); index 0 mirrors tile 1.
+     */
+    public static double[] solve(JumpTable jumps, double forwardProbability) {
+        return solve(jumps, forwardProbability, DIE_FACES);
+    }
+
+    /**
+     * Solve the chain for a board and a die with dieFaces faces
+     */
+    public static double[] solve(JumpTable jumps, double forwardProbability, int dieFaces) {
+        int[] jump = jumps.table();
+        for (int tile = 1; tile < jump.length; tile++) {
+            if (jump[tile] < tile) {
+                return solveIteratively(jumps, forwardProbability, dieFaces);
+            }
+        }
+        return solveBanded(jumps, forwardProbability, dieFaces);
+    }
+
+    private static double[] solveBanded(JumpTable jumps, double forwardProbability, int dieFaces) {
+        int boardSize = jumps.getBoardSize();
+        int[] jump = jumps.table();
+        double forwardStep = forwardProbability / dieFaces;
+        double backwardStep = (1 - forwardProbability) / dieFaces;
+
+        // After elimination E[pos] = constant[pos] + sum of below[pos * dieFaces + k - 1] * E[pos - k], k = 1..dieFaces
+        double[] constant = new double[boardSize];
+        double[] below = new double[boardSize * dieFaces];
+        double[] row = new double[boardSize + 1]; // Coefficients of the row being eliminated, by tile
+
+        for (int pos = boardSize - 1; pos >= 1; pos--) {
+            double sum = 1;
+            int highest = pos;
+            for (int roll = 1; roll <= dieFaces; roll++) {
+                int forward = jump[Math.min(pos + roll, boardSize)];
+                if (forward < boardSize) {
+                    row[forward] += forwardStep;
+                    highest = Math.max(highest, forward);
+                }
+                row[Math.max(pos - roll, 1)] += backwardStep;
+            }
+
+            // Replace every tile above pos by its eliminated row, highest first
+            for (int tile = highest; tile > pos; tile--) {
+                double weight = row[tile];
+                if (weight == 0) continue;
+                row[tile] = 0;
+                sum += weight * constant[tile];
+                for (int k = 1; k <= dieFaces && tile - k >= 1; k++) {
+                    row[tile - k] += weight * below[tile * dieFaces + k - 1];
+                }
+            }
+
+            // Solve for E[pos]; what is left are the tiles below it
+            double scale = 1 / (1 - row[pos]);
+            row[pos] = 0;
+            constant[pos] = sum * scale;
+            for (int k = 1; k <= dieFaces && pos - k >= 1; k++) {
+                below[pos * dieFaces + k - 1] = row[pos - k] * scale;
+                row[pos - k] = 0;
+            }
+        }
+
+        double[] expected = new double[boardSize + 1];
+        for (int pos = 1; pos < boardSize; pos++) {
+            double value = constant[pos];
+            for (int k = 1; k <= dieFaces && pos - k >= 1; k++) {
+                value += below[pos * dieFaces + k - 1] * expected[pos - k];
+            }
+            expected[pos] = value;
+        }
+        expected[0] = expected[1];
+        return expected;
+    }
+
+    private static double[] solveIteratively(JumpTable jumps, double forwardProbability, int dieFaces) {
+        int boardSize = jumps.getBoardSize();
+        int[] jump = jumps.table();
+        double forwardStep = forwardProbability / dieFaces;
+        double backwardStep = (1 - forwardProbability) / dieFaces;
+
+        // Start from the plain drift estimate: tiles left / average progress per roll
+        double drift = (dieFaces + 1) / 2.0 * (2 * forwardProbability - 1);
+        double[] expected = new double[boardSize + 1];
+        for (int pos = 1; pos < boardSize; pos++) {
+            expected[pos] = drift > 0 ? (boardSize - pos) / drift : 0;
+        }
+
+        // Sweep from the finish down, so most neighbours a tile reads are already updated
+        for (int sweep = 0; sweep < MAX_SWEEPS; sweep++) {
+            double maxChange = 0;
+            for (int pos = boardSize - 1; pos >= 1; pos--) {
+                double sum = 1;
+                double self = 0; // Probability of staying on this tile, solved for directly
+
+                for (int roll = 1; roll <= dieFaces; roll++) {
+                    int forward = jump[Math.min(pos + roll, boardSize)];
+                    if (forward == pos) {
+                        self += forwardStep;
+                    } else {
+                        sum += forwardStep * expected[forward];
+                    }
+
+                    int backward = Math.max(pos - roll, 1);
+                    if (backward == pos) {
+                        self += backwardStep;
+                    } else {
+                        sum += backwardStep * expected[backward];
+                    }
+                }
+
+                double value = sum / (1 - self);
+                maxChange = Math.max(maxChange, Math.abs(value - expected[pos]) / value);
+                expected[pos] = value;
+            }
+            if (maxChange < TOLERANCE) break;
+        }
+
+        expected[0] = expected[1];
+        expected[boardSize] = 0;
+        return expected;
+    }
+}
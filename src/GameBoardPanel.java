@@ -1,27 +1,100 @@
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
 import java.util.List;
 import java.util.HashMap;
 import java.util.Map;
 
 public class GameBoardPanel extends JPanel {
-    private static final int BOARD_SIZE = 8;
-    private static final int TILE_SIZE = 70;
+    private static final int BOARD_PIXELS = 560; // 8 tiles of 70 pixels on the classic board
+    private static final int DETAIL_TILE_SIZE = 24; // Smaller tiles get no border or number
+    private static final int LABEL_TILE_SIZE = 56; // Smaller tiles get no START/FINISH label
+    private static final long STEP_NANOS = 400_000_000L; // Time to walk one tile
+    private static final long CLIMB_NANOS = 240_000_000L; // Time to snap to a ladder's top
+    private static final int TOKEN_REACH = 23; // Glow radius around a token's centre, plus antialiasing
+    private static final double[] STAR_X = new double[10]; // Star outline around (0, 0), radius 16
+    private static final double[] STAR_Y = new double[10];
+    private static final int LADDER_REACH = 48; // Stroke, arrow and foot label (up to 8 digits) around a ladder's ends
+    private final int boardSide; // Tiles per row
+    private final int tileCount;
+    private final double tileSize;
     private GameEngine gameEngine;
     private Map<Player, Point> playerAnimationPositions;
     private Map<Player, Integer> playerTargetPositions;
-    private Timer animationTimer;
-    private Ladder climbingLadder = null;
-    private Ladder[] ladders;
+    private transient AnimationClock.Animation tokenAnimation; // The move or climb on screen, if any
+    private LadderStyle climbingLadder = null;
+    private JumpTable jumps;
+    private transient BufferedImage boardLayer; // Background, tiles and ladders; only the tokens move
+    private transient CompiledRules boardLayerRules; // Rules the layer marks double-turn tiles for
+    private transient GraphicsConfiguration layerConfig; // Screen the layer's scale was taken from
+    private double layerScale = 1;
+    private transient TokenStyle[] tokenStyles = new TokenStyle[0]; // By seat
+    private final int[] polygonX = new int[10]; // Reused for stars and arrows
+    private final int[] polygonY = new int[10];
+
+    static {
+        double angle = -Math.PI / 2;
+        for (int i = 0; i < 10; i++) {
+            double r = (i % 2 == 0) ? 16 : 16 / 2.5;
+            STAR_X[i] = r * Math.cos(angle);
+            STAR_Y[i] = r * Math.sin(angle);
+            angle += Math.PI / 5;
+        }
+    }
+
+    /**
+     * Paint resources of one player's token, derived from its colour once
+     */
+    private static final class TokenStyle {
+        final String hex;
+        final Color color;
+        final Color glow;
+        final Color outline;
+        final Color number;
+        final String label;
+        int labelWidth = -1; // Measured on first paint
+
+        TokenStyle(String hex, int seat) {
+            this.hex = hex;
+            this.color = PaintCache.decode(hex);
+            this.glow = PaintCache.color(color, 50);
+            this.outline = color.darker().darker();
+            this.number = color.darker();
+            this.label = String.valueOf(seat + 1);
+        }
+    }
+
+    /**
+     * Paint resources of one ladder
+     */
+    private static final class LadderStyle {
+        final Ladder ladder;
+        final Color color;
+        final Color bright;
+        final Color faded;
+        final Color dark;
+        final String label;
+
+        LadderStyle(Ladder ladder) {
+            this.ladder = ladder;
+            this.color = ladder.getColor();
+            this.bright = color.brighter();
+            this.faded = PaintCache.color(color, 150);
+            this.dark = color.darker();
+            this.label = String.valueOf(ladder.from);
+        }
+    }
 
     public GameBoardPanel(GameEngine gameEngine) {
         this.gameEngine = gameEngine;
-        this.ladders = gameEngine.getLadders();
+        this.jumps = gameEngine.getJumps();
+        this.boardSide = gameEngine.getBoardSide();
+        this.tileCount = gameEngine.getFinishTile();
+        this.tileSize = (double) BOARD_PIXELS / boardSide;
         this.playerAnimationPositions = new HashMap<>();
         this.playerTargetPositions = new HashMap<>();
 
-        setPreferredSize(new Dimension(BOARD_SIZE * TILE_SIZE + 40,
-                BOARD_SIZE * TILE_SIZE + 40));
+        setPreferredSize(new Dimension(BOARD_PIXELS + 40, BOARD_PIXELS + 40));
         setBackground(new Color(240, 248, 255));
 
         // Initialize player positions at start (position 1)
@@ -33,51 +106,90 @@ public class GameBoardPanel extends JPanel {
      */
     public void resetAllPlayerPositions() {
         for (Player player : gameEngine.getAllPlayers()) {
-            Point startPos = getTileCenter(1);
-            playerAnimationPositions.put(player, new Point(startPos));
+            playerAnimationPositions.put(player, new Point(tileCenterX(1), tileCenterY(1)));
             playerTargetPositions.put(player, 1);
         }
         repaint();
     }
 
-    public void updateLadders(Ladder[] newLadders) {
-        this.ladders = newLadders;
+    /**
+     * Move every token straight to its player's current tile
+     */
+    public void syncPlayerPositions() {
+        for (Player player : gameEngine.getAllPlayers()) {
+            int position = player.getPosition();
+            playerAnimationPositions.put(player, new Point(tileCenterX(position), tileCenterY(position)));
+            playerTargetPositions.put(player, player.getPosition());
+        }
         repaint();
     }
 
-    public Ladder checkForLadder(int position) {
-        for (Ladder ladder : ladders) {
-            if (ladder.from == position) {
-                return ladder;
-            }
-        }
-        return null;
+    public void updateLadders(JumpTable newJumps) {
+        this.jumps = newJumps;
+        this.boardLayer = null;
+        repaint();
     }
 
     public void setClimbingLadder(Ladder ladder) {
-        this.climbingLadder = ladder;
-        repaint();
+        LadderStyle previous = climbingLadder;
+        this.climbingLadder = ladder == null ? null : new LadderStyle(ladder);
+        if (previous != null) repaintLadder(previous.ladder);
+        repaintLadder(ladder);
     }
 
-    private Point getTileCenter(int position) {
-        if (position < 1) position = 1;
-        if (position > 64) position = 64;
+    /**
+     * Put a token at a new point and repaint only the area it left and entered
+     */
+    private void moveToken(Player player, int x, int y) {
+        Point position = playerAnimationPositions.get(player);
+        if (position == null) {
+            position = new Point(x, y);
+            playerAnimationPositions.put(player, position);
+        }
+
+        int left = Math.min(position.x, x) - TOKEN_REACH;
+        int top = Math.min(position.y, y) - TOKEN_REACH;
+        int right = Math.max(position.x, x) + TOKEN_REACH;
+        int bottom = Math.max(position.y, y) + TOKEN_REACH;
+        position.setLocation(x, y);
+        repaint(left, top, right - left, bottom - top);
+    }
+
+    /**
+     * Repaint the area a ladder and its highlight cover
+     */
+    private void repaintLadder(Ladder ladder) {
+        if (ladder == null) return;
+        int fromX = tileCenterX(ladder.from);
+        int fromY = tileCenterY(ladder.from);
+        int toX = tileCenterX(ladder.to);
+        int toY = tileCenterY(ladder.to);
+
+        int left = Math.min(fromX, toX) - LADDER_REACH;
+        int top = Math.min(fromY, toY) - LADDER_REACH;
+        int right = Math.max(fromX, toX) + LADDER_REACH;
+        int bottom = Math.max(fromY, toY) + LADDER_REACH;
+        repaint(left, top, right - left, bottom - top);
+    }
 
-        int row = (position - 1) / BOARD_SIZE;
-        int col = (position - 1) % BOARD_SIZE;
+    private int tileCenterX(int position) {
+        position = Math.max(1, Math.min(position, tileCount));
+        int row = (position - 1) / boardSide;
+        int col = (position - 1) % boardSide;
 
         // Snake pattern: even rows go left to right, odd rows go right to left
         if (row % 2 == 1) {
-            col = BOARD_SIZE - 1 - col;
+            col = boardSide - 1 - col;
         }
+        return 20 + (int) ((col + 0.5) * tileSize);
+    }
 
-        // Invert row (start from bottom)
-        row = BOARD_SIZE - 1 - row;
-
-        int x = 20 + col * TILE_SIZE + TILE_SIZE / 2;
-        int y = 20 + row * TILE_SIZE + TILE_SIZE / 2;
+    private int tileCenterY(int position) {
+        position = Math.max(1, Math.min(position, tileCount));
 
-        return new Point(x, y);
+        // Invert row (start from bottom)
+        int row = boardSide - 1 - (position - 1) / boardSide;
+        return 20 + (int) ((row + 0.5) * tileSize);
     }
 
     /**
@@ -89,69 +201,45 @@ public class GameBoardPanel extends JPanel {
             return;
         }
 
-        final int[] currentStep = {0};
-        final double[] progress = {0.0};
+        final int last = path.size() - 1;
+        final long start = System.nanoTime();
+        final int[] reached = {0}; // Last tile a step sound was played for
 
-        if (animationTimer != null && animationTimer.isRunning()) {
-            animationTimer.stop();
-        }
+        startTokenAnimation(now -> {
+            double travelled = (double) (now - start) / STEP_NANOS; // Tiles walked so far
+            int step = (int) Math.min(travelled, last);
 
-        // Slower, smoother animation with interpolation
-        animationTimer = new Timer(20, null);
-        animationTimer.addActionListener(e -> {
-            if (currentStep[0] >= path.size() - 1) {
-                animationTimer.stop();
-                if (onComplete != null) {
-                    onComplete.run();
-                }
-                return;
+            // Play step sound when reaching a new tile
+            if (step > reached[0]) {
+                reached[0] = step;
+                SoundManager.getInstance().playSound("step");
             }
 
-            // Smooth interpolation between positions
-            progress[0] += 0.05; // Slightly faster for better responsiveness
-
-            if (progress[0] >= 1.0) {
-                // Move to next step
-                progress[0] = 0.0;
-                currentStep[0]++;
-
-                // Play step sound when reaching a new tile
-                if (currentStep[0] > 0 && currentStep[0] < path.size()) {
-                    SoundManager.getInstance().playSound("step");
-                }
-
-                if (currentStep[0] >= path.size() - 1) {
-                    // Final position
-                    int finalPos = path.get(path.size() - 1);
-                    Point finalPoint = getTileCenter(finalPos);
-                    playerAnimationPositions.put(player, new Point(finalPoint));
-                    repaint();
-                    animationTimer.stop();
-                    if (onComplete != null) {
-                        onComplete.run();
-                    }
-                    return;
+            if (step >= last) {
+                // Final position
+                int finalPos = path.get(last);
+                moveToken(player, tileCenterX(finalPos), tileCenterY(finalPos));
+                if (onComplete != null) {
+                    onComplete.run();
                 }
+                return false;
             }
 
             // Interpolate between current and next position
-            int currentPos = path.get(currentStep[0]);
-            int nextPos = path.get(currentStep[0] + 1);
-
-            Point currentPoint = getTileCenter(currentPos);
-            Point nextPoint = getTileCenter(nextPos);
+            int currentPos = path.get(step);
+            int nextPos = path.get(step + 1);
+            int currentX = tileCenterX(currentPos);
+            int currentY = tileCenterY(currentPos);
 
             // Ease-in-out interpolation for smoother movement
-            double eased = easeInOutQuad(progress[0]);
+            double eased = easeInOutQuad(travelled - step);
 
-            int interpolatedX = (int)(currentPoint.x + (nextPoint.x - currentPoint.x) * eased);
-            int interpolatedY = (int)(currentPoint.y + (nextPoint.y - currentPoint.y) * eased);
+            int interpolatedX = (int)(currentX + (tileCenterX(nextPos) - currentX) * eased);
+            int interpolatedY = (int)(currentY + (tileCenterY(nextPos) - currentY) * eased);
 
-            playerAnimationPositions.put(player, new Point(interpolatedX, interpolatedY));
-            repaint();
+            moveToken(player, interpolatedX, interpolatedY);
+            return true;
         });
-
-        animationTimer.start();
     }
 
     /**
@@ -159,42 +247,43 @@ public class GameBoardPanel extends JPanel {
      * Used for ladder climbing - fast and immediate
      */
     public void animateInstantClimb(Player player, int fromPos, int toPos, Runnable onComplete) {
-        Point startPoint = getTileCenter(fromPos);
-        Point endPoint = getTileCenter(toPos);
-
-        if (animationTimer != null && animationTimer.isRunning()) {
-            animationTimer.stop();
-        }
-
-        final double[] progress = {0.0};
-        final int ANIMATION_FRAMES = 15; // Quick smooth transition
+        final int startX = tileCenterX(fromPos);
+        final int startY = tileCenterY(fromPos);
+        final int endX = tileCenterX(toPos);
+        final int endY = tileCenterY(toPos);
+        final long start = System.nanoTime();
 
-        animationTimer = new Timer(16, null); // ~60 FPS
-        animationTimer.addActionListener(e -> {
-            progress[0] += 1.0 / ANIMATION_FRAMES;
+        startTokenAnimation(now -> {
+            double progress = (double) (now - start) / CLIMB_NANOS;
 
-            if (progress[0] >= 1.0) {
+            if (progress >= 1.0) {
                 // Snap to final position
-                playerAnimationPositions.put(player, new Point(endPoint));
-                repaint();
-                animationTimer.stop();
+                moveToken(player, endX, endY);
                 if (onComplete != null) {
                     onComplete.run();
                 }
-                return;
+                return false;
             }
 
             // Quick ease-out for snappy feel
-            double eased = 1 - Math.pow(1 - progress[0], 3);
+            double eased = 1 - Math.pow(1 - progress, 3);
 
-            int interpolatedX = (int)(startPoint.x + (endPoint.x - startPoint.x) * eased);
-            int interpolatedY = (int)(startPoint.y + (endPoint.y - startPoint.y) * eased);
+            int interpolatedX = (int)(startX + (endX - startX) * eased);
+            int interpolatedY = (int)(startY + (endY - startY) * eased);
 
-            playerAnimationPositions.put(player, new Point(interpolatedX, interpolatedY));
-            repaint();
+            moveToken(player, interpolatedX, interpolatedY);
+            return true;
         });
+    }
 
-        animationTimer.start();
+    /**
+     * Run a token animation on the shared clock, replacing the one before it
+     */
+    private void startTokenAnimation(AnimationClock.Animation animation) {
+        AnimationClock clock = AnimationClock.getInstance();
+        if (tokenAnimation != null) clock.stop(tokenAnimation);
+        tokenAnimation = animation;
+        clock.start(animation);
     }
 
     /**
@@ -208,197 +297,258 @@ public class GameBoardPanel extends JPanel {
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g;
+        paintBoardLayer(g2d);
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
                 RenderingHints.VALUE_ANTIALIAS_ON);
 
-        // Draw board tiles
-        for (int i = 0; i < 64; i++) {
-            int row = i / BOARD_SIZE;
-            int col = i % BOARD_SIZE;
+        // The ladder being climbed is drawn again, highlighted, over its cached self
+        if (climbingLadder != null) {
+            drawLadder(g2d, climbingLadder, true);
+        }
+
+        // Draw players with star animation
+        List<Player> players = gameEngine.getAllPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            Point pos = playerAnimationPositions.get(player);
+
+            // Only tokens inside the repainted area need drawing
+            if (pos != null && g2d.hitClip(pos.x - TOKEN_REACH, pos.y - TOKEN_REACH,
+                    2 * TOKEN_REACH, 2 * TOKEN_REACH)) {
+                TokenStyle style = tokenStyle(i, player);
+
+                // Draw glow effect
+                g2d.setColor(style.glow);
+                g2d.fillOval(pos.x - 22, pos.y - 22, 44, 44);
+
+                // Draw star
+                drawStar(g2d, pos.x, pos.y, style);
+
+                // Draw player number
+                g2d.setColor(Color.WHITE);
+                g2d.fillOval(pos.x - 8, pos.y - 8, 16, 16);
+                g2d.setColor(style.number);
+                g2d.setFont(PaintCache.font("Arial", Font.BOLD, 11));
+                if (style.labelWidth < 0) {
+                    style.labelWidth = g2d.getFontMetrics().stringWidth(style.label);
+                }
+                g2d.drawString(style.label, pos.x - style.labelWidth / 2, pos.y + 4);
+            }
+        }
+    }
+
+    private TokenStyle tokenStyle(int seat, Player player) {
+        if (seat >= tokenStyles.length) {
+            tokenStyles = java.util.Arrays.copyOf(tokenStyles, seat + 1);
+        }
+        TokenStyle style = tokenStyles[seat];
+        if (style == null || !style.hex.equals(player.getColor())) {
+            style = new TokenStyle(player.getColor(), seat);
+            tokenStyles[seat] = style;
+        }
+        return style;
+    }
+
+    /**
+     * Draw the static board from its cached image, rendering the image
+     * first if the board, the rules or the panel size changed since.
+     * The image is kept at device resolution, so scaled displays stay sharp.
+     */
+    private void paintBoardLayer(Graphics2D g2d) {
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        if (config != layerConfig) {
+            layerConfig = config;
+            layerScale = config == null ? 1 : config.getDefaultTransform().getScaleX();
+        }
+        double scale = layerScale;
+        int width = (int) Math.ceil(getWidth() * scale);
+        int height = (int) Math.ceil(getHeight() * scale);
+        if (width <= 0 || height <= 0) return;
+
+        CompiledRules rules = gameEngine.getCompiledRules();
+        if (boardLayer == null || boardLayer.getWidth() != width || boardLayer.getHeight() != height
+                || boardLayerRules != rules) {
+            boardLayer = renderBoardLayer(width, height, scale, rules);
+            boardLayerRules = rules;
+        }
+        g2d.drawImage(boardLayer, 0, 0, getWidth(), getHeight(), null);
+    }
+
+    private BufferedImage renderBoardLayer(int width, int height, double scale, CompiledRules rules) {
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        BufferedImage image = config != null
+                ? config.createCompatibleImage(width, height, Transparency.OPAQUE)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.setColor(getBackground());
+            g2d.fillRect(0, 0, width, height);
+            g2d.scale(scale, scale);
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                    RenderingHints.VALUE_ANTIALIAS_ON);
+
+            drawTiles(g2d, rules);
+
+            // Draw ladders
+            for (Ladder ladder : jumps.getLadders()) {
+                drawLadder(g2d, new LadderStyle(ladder), false);
+            }
+        } finally {
+            g2d.dispose();
+        }
+        return image;
+    }
+
+    private void drawTiles(Graphics2D g2d, CompiledRules rules) {
+        // Draw board tiles; on boards too fine to show single tiles, draw one background
+        if (tileSize < 2) {
+            g2d.setPaint(PaintCache.gradient(20, 20, PaintCache.color(230, 240, 255),
+                    20 + BOARD_PIXELS, 20 + BOARD_PIXELS, PaintCache.color(255, 240, 220)));
+            g2d.fillRect(20, 20, BOARD_PIXELS, BOARD_PIXELS);
+        }
+        for (int i = 0; i < tileCount && tileSize >= 2; i++) {
+            int row = i / boardSide;
+            int col = i % boardSide;
 
             // Snake pattern
             if (row % 2 == 1) {
-                col = BOARD_SIZE - 1 - col;
+                col = boardSide - 1 - col;
             }
 
             // Invert row
-            row = BOARD_SIZE - 1 - row;
+            row = boardSide - 1 - row;
 
-            int x = 20 + col * TILE_SIZE;
-            int y = 20 + row * TILE_SIZE;
+            int x = 20 + (int) (col * tileSize);
+            int y = 20 + (int) (row * tileSize);
+            int size = 20 + (int) ((col + 1) * tileSize) - x;
+            int arc = Math.min(10, size / 4);
 
-            // Gradient tile background
+            // Gradient tile background; tile gradients differ per tile, so they are
+            // built here, once per layer, instead of being cached
             GradientPaint gradient;
             if ((row + col) % 2 == 0) {
-                gradient = new GradientPaint(x, y, new Color(230, 240, 255),
-                        x + TILE_SIZE, y + TILE_SIZE, new Color(200, 220, 255));
+                gradient = new GradientPaint(x, y, PaintCache.color(230, 240, 255),
+                        x + size, y + size, PaintCache.color(200, 220, 255));
             } else {
-                gradient = new GradientPaint(x, y, new Color(255, 250, 240),
-                        x + TILE_SIZE, y + TILE_SIZE, new Color(255, 240, 220));
+                gradient = new GradientPaint(x, y, PaintCache.color(255, 250, 240),
+                        x + size, y + size, PaintCache.color(255, 240, 220));
             }
             g2d.setPaint(gradient);
-            g2d.fillRoundRect(x, y, TILE_SIZE, TILE_SIZE, 10, 10);
+            g2d.fillRoundRect(x, y, size, size, arc, arc);
 
             // Highlight prime-numbered tiles (where ladders can start)
-            if (isPrime(i + 1)) {
-                g2d.setColor(new Color(255, 215, 0, 40));
-                g2d.fillRoundRect(x + 2, y + 2, TILE_SIZE - 4, TILE_SIZE - 4, 8, 8);
+            if (PrimeSieve.isPrime(i + 1)) {
+                g2d.setColor(PaintCache.color(255, 215, 0, 40));
+                g2d.fillRoundRect(x + 2, y + 2, size - 4, size - 4, arc, arc);
             }
 
-            g2d.setColor(new Color(180, 180, 180));
-            g2d.setStroke(new BasicStroke(2));
-            g2d.drawRoundRect(x, y, TILE_SIZE, TILE_SIZE, 10, 10);
+            if (size >= DETAIL_TILE_SIZE) {
+                g2d.setColor(PaintCache.color(180, 180, 180));
+                g2d.setStroke(PaintCache.stroke(2));
+                g2d.drawRoundRect(x, y, size, size, arc, arc);
 
-            // Draw tile number
-            g2d.setColor(new Color(100, 100, 100));
-            g2d.setFont(new Font("Arial", Font.BOLD, 11));
-            String tileNum = String.valueOf(i + 1);
-            FontMetrics fm = g2d.getFontMetrics();
-            int textX = x + (TILE_SIZE - fm.stringWidth(tileNum)) / 2;
-            int textY = y + 18;
-            g2d.drawString(tileNum, textX, textY);
+                // Draw tile number
+                g2d.setColor(PaintCache.color(100, 100, 100));
+                g2d.setFont(PaintCache.font("Arial", Font.BOLD, 11));
+                String tileNum = String.valueOf(i + 1);
+                FontMetrics fm = g2d.getFontMetrics();
+                int textX = x + (size - fm.stringWidth(tileNum)) / 2;
+                int textY = y + 18;
+                g2d.drawString(tileNum, textX, textY);
+            }
 
             // Highlight special tiles
             if (i == 0) {
                 // START tile
-                GradientPaint startGrad = new GradientPaint(x, y, new Color(144, 238, 144, 150),
-                        x, y + TILE_SIZE, new Color(50, 205, 50, 150));
+                GradientPaint startGrad = PaintCache.gradient(x, y, PaintCache.color(144, 238, 144, 150),
+                        x, y + size, PaintCache.color(50, 205, 50, 150));
                 g2d.setPaint(startGrad);
-                g2d.fillRoundRect(x, y, TILE_SIZE, TILE_SIZE, 10, 10);
-                g2d.setColor(new Color(0, 120, 0));
-                g2d.setFont(new Font("Arial", Font.BOLD, 13));
-                g2d.drawString("START", x + 12, y + 42);
-            } else if (i == 63) {
+                g2d.fillRoundRect(x, y, size, size, arc, arc);
+                if (size >= LABEL_TILE_SIZE) {
+                    g2d.setColor(PaintCache.color(0, 120, 0));
+                    g2d.setFont(PaintCache.font("Arial", Font.BOLD, 13));
+                    g2d.drawString("START", x + 12, y + 42);
+                }
+            } else if (i == tileCount - 1) {
                 // FINISH tile
-                GradientPaint finishGrad = new GradientPaint(x, y, new Color(255, 215, 0, 180),
-                        x, y + TILE_SIZE, new Color(255, 140, 0, 180));
+                GradientPaint finishGrad = PaintCache.gradient(x, y, PaintCache.color(255, 215, 0, 180),
+                        x, y + size, PaintCache.color(255, 140, 0, 180));
                 g2d.setPaint(finishGrad);
-                g2d.fillRoundRect(x, y, TILE_SIZE, TILE_SIZE, 10, 10);
-                g2d.setColor(new Color(184, 134, 11));
-                g2d.setFont(new Font("Arial", Font.BOLD, 13));
-                g2d.drawString("FINISH", x + 10, y + 42);
-            }
-
-            // Highlight tiles with special bonuses (multiples of 5)
-            if (i > 0 && i < 63 && (i + 1) % 5 == 0) {
-                g2d.setColor(new Color(138, 43, 226, 30));
-                g2d.fillRoundRect(x + 3, y + 3, TILE_SIZE - 6, TILE_SIZE - 6, 8, 8);
+                g2d.fillRoundRect(x, y, size, size, arc, arc);
+                if (size >= LABEL_TILE_SIZE) {
+                    g2d.setColor(PaintCache.color(184, 134, 11));
+                    g2d.setFont(PaintCache.font("Arial", Font.BOLD, 13));
+                    g2d.drawString("FINISH", x + 10, y + 42);
+                }
             }
-        }
-
-        // Draw ladders
-        g2d.setStroke(new BasicStroke(8, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-        for (Ladder ladder : ladders) {
-            drawLadder(g2d, ladder);
-        }
-
-        // Draw players with star animation
-        List<Player> players = gameEngine.getAllPlayers();
-        for (int i = 0; i < players.size(); i++) {
-            Player player = players.get(i);
-            Point pos = playerAnimationPositions.get(player);
-
-            if (pos != null) {
-                // Draw glow effect
-                g2d.setColor(new Color(Color.decode(player.getColor()).getRed(),
-                        Color.decode(player.getColor()).getGreen(),
-                        Color.decode(player.getColor()).getBlue(), 50));
-                g2d.fillOval(pos.x - 22, pos.y - 22, 44, 44);
-
-                // Draw star
-                drawStar(g2d, pos.x, pos.y, 16, Color.decode(player.getColor()));
 
-                // Draw player number
-                g2d.setColor(Color.WHITE);
-                g2d.fillOval(pos.x - 8, pos.y - 8, 16, 16);
-                g2d.setColor(Color.decode(player.getColor()).darker());
-                g2d.setFont(new Font("Arial", Font.BOLD, 11));
-                String num = String.valueOf(i + 1);
-                FontMetrics fm = g2d.getFontMetrics();
-                g2d.drawString(num, pos.x - fm.stringWidth(num) / 2, pos.y + 4);
+            // Highlight double-turn tiles (multiples of 5 with the classic rules)
+            if (i > 0 && rules.isDoubleTurn(i + 1)) {
+                g2d.setColor(PaintCache.color(138, 43, 226, 30));
+                g2d.fillRoundRect(x + 3, y + 3, size - 6, size - 6, arc, arc);
             }
         }
     }
 
-    private boolean isPrime(int n) {
-        if (n < 2) return false;
-        if (n == 2) return true;
-        if (n % 2 == 0) return false;
-        for (int i = 3; i * i <= n; i += 2) {
-            if (n % i == 0) return false;
-        }
-        return true;
-    }
-
-    private void drawLadder(Graphics2D g2d, Ladder ladder) {
-        Point fromPos = getTileCenter(ladder.from);
-        Point toPos = getTileCenter(ladder.to);
+    private void drawLadder(Graphics2D g2d, LadderStyle style, boolean climbing) {
+        Ladder ladder = style.ladder;
+        int fromX = tileCenterX(ladder.from);
+        int fromY = tileCenterY(ladder.from);
+        int toX = tileCenterX(ladder.to);
+        int toY = tileCenterY(ladder.to);
 
         // Highlight if currently climbing
-        if (climbingLadder != null && climbingLadder.from == ladder.from) {
-            g2d.setStroke(new BasicStroke(12, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-            GradientPaint ladderGrad = new GradientPaint(
-                    fromPos.x, fromPos.y, ladder.color.brighter(),
-                    toPos.x, toPos.y, ladder.color
-            );
-            g2d.setPaint(ladderGrad);
+        if (climbing) {
+            g2d.setStroke(PaintCache.stroke(12, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+            g2d.setPaint(PaintCache.gradient(fromX, fromY, style.bright, toX, toY, style.color));
         } else {
-            g2d.setStroke(new BasicStroke(8, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-            Color transparentColor = new Color(
-                    ladder.color.getRed(),
-                    ladder.color.getGreen(),
-                    ladder.color.getBlue(),
-                    150
-            );
-            g2d.setColor(transparentColor);
+            g2d.setStroke(PaintCache.stroke(8, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+            g2d.setColor(style.faded);
         }
 
         // Draw main ladder line
-        g2d.drawLine(fromPos.x, fromPos.y, toPos.x, toPos.y);
+        g2d.drawLine(fromX, fromY, toX, toY);
 
         // Draw rungs
-        g2d.setStroke(new BasicStroke(3));
+        g2d.setStroke(PaintCache.stroke(3));
         for (int i = 1; i <= 3; i++) {
             float t = i / 4.0f;
-            int x = (int) (fromPos.x + (toPos.x - fromPos.x) * t);
-            int y = (int) (fromPos.y + (toPos.y - fromPos.y) * t);
+            int x = (int) (fromX + (toX - fromX) * t);
+            int y = (int) (fromY + (toY - fromY) * t);
             g2d.drawLine(x - 8, y, x + 8, y);
         }
 
         // Draw arrow at top
-        drawArrow(g2d, toPos.x, toPos.y, ladder.color);
+        drawArrow(g2d, toX, toY, style.color);
 
         // Draw ladder position labels
-        g2d.setColor(ladder.color.darker());
-        g2d.setFont(new Font("Arial", Font.BOLD, 10));
-        g2d.drawString(String.valueOf(ladder.from), fromPos.x - 8, fromPos.y + 25);
+        g2d.setColor(style.dark);
+        g2d.setFont(PaintCache.font("Arial", Font.BOLD, 10));
+        g2d.drawString(style.label, fromX - 8, fromY + 25);
     }
 
     private void drawArrow(Graphics2D g2d, int x, int y, Color color) {
-        int[] xPoints = {x, x - 6, x + 6};
-        int[] yPoints = {y - 15, y - 8, y - 8};
+        polygonX[0] = x;
+        polygonX[1] = x - 6;
+        polygonX[2] = x + 6;
+        polygonY[0] = y - 15;
+        polygonY[1] = y - 8;
+        polygonY[2] = y - 8;
         g2d.setColor(color);
-        g2d.fillPolygon(xPoints, yPoints, 3);
+        g2d.fillPolygon(polygonX, polygonY, 3);
     }
 
-    private void drawStar(Graphics2D g2d, int x, int y, int radius, Color color) {
-        int[] xPoints = new int[10];
-        int[] yPoints = new int[10];
-
-        double angle = -Math.PI / 2;
-        double angleIncrement = Math.PI / 5;
-
+    private void drawStar(Graphics2D g2d, int x, int y, TokenStyle style) {
         for (int i = 0; i < 10; i++) {
-            double r = (i % 2 == 0) ? radius : radius / 2.5;
-            xPoints[i] = (int) (x + r * Math.cos(angle));
-            yPoints[i] = (int) (y + r * Math.sin(angle));
-            angle += angleIncrement;
+            polygonX[i] = (int) (x + STAR_X[i]);
+            polygonY[i] = (int) (y + STAR_Y[i]);
         }
 
-        g2d.setColor(color);
-        g2d.fillPolygon(xPoints, yPoints, 10);
-        g2d.setColor(color.darker().darker());
-        g2d.setStroke(new BasicStroke(2));
-        g2d.drawPolygon(xPoints, yPoints, 10);
+        g2d.setColor(style.color);
+        g2d.fillPolygon(polygonX, polygonY, 10);
+        g2d.setColor(style.outline);
+        g2d.setStroke(PaintCache.stroke(2));
+        g2d.drawPolygon(polygonX, polygonY, 10);
     }
 }
@@ -1,43 +1,105 @@
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.random.RandomGenerator;
 
 public class GameEngine {
+    public static final double FORWARD_PROBABILITY = 0.7; // Classic chance that a roll moves forward (green)
+    public static final int DEFAULT_BOARD_SIDE = 8;
+    public static final int FINISH_TILE = DEFAULT_BOARD_SIDE * DEFAULT_BOARD_SIDE; // Last tile of the classic board
+    public static final int MIN_BOARD_SIDE = 4;
+    public static final int MAX_BOARD_SIDE = 4095; // 16.7 million tiles, the most a MoveJournal can address
+    public static final String BOARD_SIDE_PROPERTY = "ladderfall.boardSide"; // -Dladderfall.boardSide=100 for a 100x100 board
+    public static final int BONUS_POINTS = 50; // Landing on a multiple of 5
+    public static final int WIN_BONUS = 200;
+
+    private final int boardSide;
+    private final int finishTile;
     private Queue<Player> playerQueue;
-    private Stack<MoveRecord> moveHistory;
+    private MoveJournal moveHistory;
+    private MappedMoveLog moveLog; // Optional on-disk copy of every move
     private List<Player> players;
-    private Random random;
+    private Map<Player, Integer> seats; // Seat of each player, so turns don't search the list
+    private int[] rankedSeats; // Seats by points, highest first; ties keep seat order
+    private int[] rankOf; // Index of each seat in rankedSeats
+    private final List<Player> rankedView = new AbstractList<>() {
+        @Override
+        public Player get(int index) {
+            return players.get(rankedSeats[index]);
+        }
+
+        @Override
+        public int size() {
+            return rankedSeats.length;
+        }
+    };
+    private GameRandom random;
     private boolean gameOver;
     private Player winner;
     private Ladder[] ladders;
-    private DijkstraPathfinder pathfinder;
+    private JumpTable jumps; // Ladder tops by tile, shared with the pathfinder, GameState and the board panel
+    private GameRules rules = GameRules.CLASSIC;
+    private CompiledRules compiled; // rules compiled for the current board
+    private DijkstraPathfinder pathfinder; // Built on first use, null until then
     private Leaderboard leaderboard;
+    private final List<GameListener> listeners = new CopyOnWriteArrayList<>();
     private long gameStartTime;
 
-    // Points for each tile (1-64)
-    private int[] tilePoints = {
-            0, 10, 15, 20, 25, 30, 15, 20, 25, 30,  // 1-10
-            35, 20, 25, 30, 35, 40, 25, 30, 35, 40,  // 11-20
-            45, 30, 35, 40, 45, 50, 35, 40, 45, 50,  // 21-30
-            55, 40, 45, 50, 55, 60, 45, 50, 55, 60,  // 31-40
-            65, 50, 55, 60, 65, 70, 55, 60, 65, 70,  // 41-50
-            75, 60, 65, 70, 75, 80, 65, 70, 75, 80,  // 51-60
-            85, 90, 95, 100                           // 61-64
-    };
-
     public GameEngine(int numPlayers) {
+        this(numPlayers, GameRandom.create());
+    }
+
+    /**
+     * Create an engine driven by the given generator.
+     * Simulations pass one generator per thread (e.g. a SplittableRandom).
+     */
+    public GameEngine(int numPlayers, RandomGenerator random) {
+        this(numPlayers, GameRandom.wrap(random));
+    }
+
+    /**
+     * Create a reproducible game: the same seed gives the same boards and rolls
+     */
+    public GameEngine(int numPlayers, long seed) {
+        this(numPlayers, new GameRandom(seed));
+    }
+
+    public GameEngine(int numPlayers, GameRandom random) {
+        this(numPlayers, DEFAULT_BOARD_SIDE, random);
+    }
+
+    /**
+     * Create a game on a boardSide x boardSide board
+     */
+    public GameEngine(int numPlayers, int boardSide, long seed) {
+        this(numPlayers, boardSide, new GameRandom(seed));
+    }
+
+    public GameEngine(int numPlayers, int boardSide, RandomGenerator random) {
+        this(numPlayers, boardSide, GameRandom.wrap(random));
+    }
+
+    public GameEngine(int numPlayers, int boardSide, GameRandom random) {
+        if (numPlayers < 1 || numPlayers > MoveJournal.MAX_SEATS) {
+            throw new IllegalArgumentException("Number of players must be between 1 and "
+                    + MoveJournal.MAX_SEATS + ": " + numPlayers);
+        }
+        if (boardSide < MIN_BOARD_SIDE || boardSide > MAX_BOARD_SIDE) {
+            throw new IllegalArgumentException("Board side must be between " + MIN_BOARD_SIDE
+                    + " and " + MAX_BOARD_SIDE + ": " + boardSide);
+        }
+        this.boardSide = boardSide;
+        this.finishTile = boardSide * boardSide;
         this.playerQueue = new LinkedList<>();
-        this.moveHistory = new Stack<>();
         this.players = new ArrayList<>();
-        this.random = new Random();
+        this.random = random;
         this.gameOver = false;
         this.winner = null;
         this.leaderboard = new Leaderboard();
         this.gameStartTime = System.currentTimeMillis();
+        this.moveHistory = new MoveJournal(finishTile, seat -> players.get(seat).getName());
 
-        // Generate exactly 5 random ladders on prime-numbered positions
-        this.ladders = generateRandomLadders();
-
-        // Initialize pathfinder with board size and ladders
-        this.pathfinder = new DijkstraPathfinder(64, ladders);
+        // Generate random ladders on prime-numbered positions (5 on the classic board)
+        useBoard(generateRandomLadders());
 
         // Create players with different colors
         String[] colors = {"#FF6B6B", "#4ECDC4", "#45B7D1", "#FFA07A",
@@ -45,119 +107,226 @@ public class GameEngine {
 
         for (int i = 0; i < numPlayers; i++) {
             String color = colors[i % colors.length];
-            Player player = new Player("Player " + (i + 1), color);
+            Player player = new Player("Player " + (i + 1), color, finishTile);
             players.add(player);
             playerQueue.offer(player);
         }
+
+        this.seats = new IdentityHashMap<>();
+        for (int seat = 0; seat < players.size(); seat++) {
+            seats.put(players.get(seat), seat);
+        }
+        this.players = Collections.unmodifiableList(players);
+        this.rankedSeats = new int[numPlayers];
+        this.rankOf = new int[numPlayers];
+        rebuildRanking();
     }
 
+    /**
+     * Random ladders starting on prime tiles. The classic 8x8 board gets 5
+     * ladders of 8-20 tiles; the count and the lengths grow with the board
+     * side, so about the same share of every board is skipped by ladders.
+     */
     private Ladder[] generateRandomLadders() {
-        List<Integer> primes = getPrimesUpTo(63);
+        int[] primes = PrimeSieve.primesBetween(2, finishTile - 1);
         List<Ladder> ladderList = new ArrayList<>();
 
-        // Colors for ladders
-        java.awt.Color[] colors = {
-                new java.awt.Color(255, 215, 0),    // Gold
-                new java.awt.Color(255, 99, 71),    // Tomato
-                new java.awt.Color(50, 205, 50),    // Lime Green
-                new java.awt.Color(255, 105, 180),  // Hot Pink
-                new java.awt.Color(0, 206, 209)     // Turquoise
+        // Colors for ladders (plain RGB so the engine never touches AWT)
+        int[] colors = {
+                0xFFD700,   // Gold
+                0xFF6347,   // Tomato
+                0x32CD32,   // Lime Green
+                0xFF69B4,   // Hot Pink
+                0x00CED1    // Turquoise
         };
 
-        Collections.shuffle(primes, random);
+        // Same swaps as Collections.shuffle, so seeded classic boards stay the same
+        RandomGenerator boardRandom = random.board();
+        for (int i = primes.length; i > 1; i--) {
+            int j = boardRandom.nextInt(i);
+            int tmp = primes[i - 1];
+            primes[i - 1] = primes[j];
+            primes[j] = tmp;
+        }
+
+        // Scale the classic numbers (5 ladders, 8 + 0-12 tiles long) by boardSide / 8
+        int numLadders = (int) Math.round(5.0 * boardSide / DEFAULT_BOARD_SIDE);
+        int minLength = boardSide;
+        int lengthRange = (int) Math.round(13.0 * boardSide / DEFAULT_BOARD_SIDE);
+        int fillLength = (int) Math.round(10.0 * boardSide / DEFAULT_BOARD_SIDE);
+        int lastFoot = finishTile - 7; // Make sure ladders don't start too close to the end
+        int lastTop = finishTile - 1;
 
-        // Create EXACTLY 5 ladders
-        int numLadders = 5;
         int colorIndex = 0;
         int attempts = 0;
+        BitSet feet = new BitSet();
 
-        for (int i = 0; i < primes.size() && ladderList.size() < numLadders && attempts < 100; i++) {
-            int from = primes.get(i);
+        for (int i = 0; i < primes.length && ladderList.size() < numLadders && attempts < 20 * numLadders; i++) {
+            int from = primes[i];
             attempts++;
 
-            // Make sure ladder doesn't start too close to the end
-            if (from >= 58) continue;
+            if (from > lastFoot) continue;
 
-            // Ladder goes up between 8-20 positions
-            int ladderLength = 8 + random.nextInt(13);
-            int to = Math.min(from + ladderLength, 63);
+            int ladderLength = minLength + boardRandom.nextInt(lengthRange);
+            int to = Math.min(from + ladderLength, lastTop);
 
             // Make sure 'to' is reasonable and we have a good ladder
-            if (to - from >= 8) {
+            if (to - from >= minLength) {
                 ladderList.add(new Ladder(from, to, colors[colorIndex % colors.length]));
+                feet.set(from);
                 colorIndex++;
             }
         }
 
-        // If we couldn't get 5 ladders, fill up with any available primes
-        while (ladderList.size() < 5 && primes.size() > ladderList.size()) {
-            for (int prime : primes) {
-                if (ladderList.size() >= 5) break;
-
-                // Check if this prime is already used
-                boolean used = false;
-                for (Ladder l : ladderList) {
-                    if (l.from == prime) {
-                        used = true;
-                        break;
-                    }
-                }
-
-                if (!used && prime < 58) {
-                    int to = Math.min(prime + 10, 63);
-                    ladderList.add(new Ladder(prime, to, colors[ladderList.size() % colors.length]));
-                }
+        // If we couldn't get enough ladders, fill up with any available primes
+        for (int i = 0; i < primes.length && ladderList.size() < numLadders; i++) {
+            int prime = primes[i];
+            if (!feet.get(prime) && prime <= lastFoot) {
+                int to = Math.min(prime + fillLength, lastTop);
+                ladderList.add(new Ladder(prime, to, colors[ladderList.size() % colors.length]));
+                feet.set(prime);
             }
-            break;
         }
 
         return ladderList.toArray(new Ladder[0]);
     }
 
-    private List<Integer> getPrimesUpTo(int max) {
-        List<Integer> primes = new ArrayList<>();
-        for (int num = 2; num <= max; num++) {
-            if (isPrime(num)) {
-                primes.add(num);
-            }
-        }
-        return primes;
+    /**
+     * Points for landing on a tile, bonuses included
+     */
+    public int getTilePoints(int position) {
+        return compiled.tilePoints[position];
     }
 
-    private boolean isPrime(int n) {
-        if (n < 2) return false;
-        if (n == 2) return true;
-        if (n % 2 == 0) return false;
-        for (int i = 3; i * i <= n; i += 2) {
-            if (n % i == 0) return false;
-        }
-        return true;
+    public ScoreTable getScoreTable() {
+        return compiled.getScores();
+    }
+
+    public ScoringRules getScoringRules() {
+        return rules.getScoring();
+    }
+
+    /**
+     * Score the board with other rules from the next turn on
+     */
+    public void setScoringRules(ScoringRules scoringRules) {
+        setRules(rules.withScoring(scoringRules));
+    }
+
+    public GameRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Play by other rules from the next turn on
+     */
+    public void setRules(GameRules rules) {
+        this.rules = rules;
+        useBoard(ladders);
+    }
+
+    /**
+     * The rules compiled for the current board
+     */
+    public CompiledRules getCompiledRules() {
+        return compiled;
+    }
+
+    /**
+     * Resolve the ladders into a jump table and compile the rules for it.
+     * The pathfinder's reverse search over every tile costs more than the
+     * rest together on big boards, so it waits for getPathfinder().
+     */
+    private void useBoard(Ladder[] ladders) {
+        this.ladders = ladders;
+        this.jumps = new JumpTable(finishTile, ladders);
+        this.compiled = rules.compile(jumps);
+        this.pathfinder = null;
+    }
+
+    /**
+     * Generate a new random board and compile the rules for it, leaving
+     * players, history and listeners alone. For callers that only use the
+     * engine to generate boards and play on a GameState (e.g.
+     * MonteCarloSimulator); everyone else calls resetGame().
+     */
+    public CompiledRules nextBoard() {
+        useBoard(generateRandomLadders());
+        return compiled;
+    }
+
+    public int getBoardSide() {
+        return boardSide;
+    }
+
+    public int getFinishTile() {
+        return finishTile;
     }
 
     public Ladder[] getLadders() {
         return ladders;
     }
 
+    public JumpTable getJumps() {
+        return jumps;
+    }
+
     public DijkstraPathfinder getPathfinder() {
+        if (pathfinder == null) {
+            pathfinder = new DijkstraPathfinder(compiled);
+        }
         return pathfinder;
     }
 
+    public GameRandom getRandom() {
+        return random;
+    }
+
     public Leaderboard getLeaderboard() {
         return leaderboard;
     }
 
+    /**
+     * Report finished games to another leaderboard, e.g. one shared by many tables
+     */
+    public void setLeaderboard(Leaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+
     public Player getCurrentPlayer() {
         return playerQueue.peek();
     }
 
+    /**
+     * Players in seat order (read-only; the players themselves can be renamed)
+     */
     public List<Player> getAllPlayers() {
-        return new ArrayList<>(players);
+        return players;
     }
 
-    public Stack<MoveRecord> getMoveHistory() {
+    /**
+     * Seat of the player whose turn it is, -1 once the game is over
+     */
+    public int getCurrentSeat() {
+        Player current = playerQueue.peek();
+        return current == null ? -1 : seats.get(current);
+    }
+
+    public MoveJournal getMoveHistory() {
         return moveHistory;
     }
 
+    /**
+     * Stream every move to an on-disk log as well (null turns it off)
+     */
+    public void setMoveLog(MappedMoveLog moveLog) {
+        this.moveLog = moveLog;
+    }
+
+    public MappedMoveLog getMoveLog() {
+        return moveLog;
+    }
+
     public boolean isGameOver() {
         return gameOver;
     }
@@ -167,19 +336,23 @@ public class GameEngine {
     }
 
     public int getHighestScore() {
-        int max = 0;
-        for (Player p : players) {
-            if (p.getPoints() > max) {
-                max = p.getPoints();
-            }
-        }
-        return max;
+        return rankedSeats.length == 0 ? 0 : Math.max(0, players.get(rankedSeats[0]).getPoints());
     }
 
+    /**
+     * Players by points, highest first (ties in seat order). This is a
+     * read-only view of the engine's ranking, which is kept up to date as
+     * points are added, so copy it to keep the order of one moment.
+     */
     public List<Player> getRankedPlayers() {
-        List<Player> ranked = new ArrayList<>(players);
-        ranked.sort((p1, p2) -> Integer.compare(p2.getPoints(), p1.getPoints()));
-        return ranked;
+        return rankedView;
+    }
+
+    /**
+     * Place of a player in getRankedPlayers() (0 = leading)
+     */
+    public int getRank(Player player) {
+        return rankOf[seats.get(player)];
     }
 
     public MoveRecord playTurn() {
@@ -187,24 +360,21 @@ public class GameEngine {
             return null;
         }
 
-        // Get current player
-        Player currentPlayer = playerQueue.poll();
+        // Get current player (stays at the head of the queue until the turn is over)
+        Player currentPlayer = playerQueue.peek();
+        int seat = seats.get(currentPlayer);
+        boolean notify = !listeners.isEmpty(); // No event objects at all without listeners
 
-        // Roll dice (1-6)
-        int diceRoll = random.nextInt(6) + 1;
+        // Roll dice (1-6 with the classic rules)
+        CompiledRules rules = compiled;
+        RandomGenerator dice = random.dice();
+        int diceRoll = dice.nextInt(rules.getDieFaces()) + 1;
 
-        // Get random probability (0.0 - 1.0)
-        double probability = random.nextDouble();
-
-        // Determine direction based on probability
-        int stepsMoved;
-        if (probability <= 0.7) {
-            // Green: Move forward
-            stepsMoved = diceRoll;
-        } else {
-            // Red: Move backward
-            stepsMoved = -diceRoll;
-        }
+        // Get random probability (0.0 - 1.0); green moves forward, red moves backward
+        double probability = dice.nextDouble();
+        boolean forward = probability <= rules.getForwardProbability();
+        int stepsMoved = forward ? diceRoll : -diceRoll;
+        if (notify) fireEvent(new GameEvent.TurnRolled(currentPlayer, seat, diceRoll, probability, forward));
 
         // Record starting position
         int fromPosition = currentPlayer.getPosition();
@@ -214,20 +384,11 @@ public class GameEngine {
 
         // Get ending position
         int toPosition = currentPlayer.getPosition();
+        if (notify) fireEvent(new GameEvent.PlayerMoved(currentPlayer, seat, fromPosition, toPosition));
 
-        // Calculate points earned
-        int pointsEarned = 0;
-        if (toPosition >= 1 && toPosition <= 64) {
-            pointsEarned = tilePoints[toPosition - 1];
-
-            // Bonus points for landing on multiples of 5
-            if (toPosition % 5 == 0 && toPosition < 64) {
-                pointsEarned += 50;
-            }
-
-            // Add points to player
-            currentPlayer.addPoints(pointsEarned);
-        }
+        // Points for the tile the dice landed on
+        int pointsEarned = rules.tilePoints[toPosition];
+        addPoints(currentPlayer, seat, pointsEarned, notify);
 
         // Create move record
         MoveRecord record = new MoveRecord(
@@ -240,15 +401,26 @@ public class GameEngine {
                 pointsEarned
         );
 
-        // Store in stack
-        moveHistory.push(record);
+        // Ladders can only be climbed when moving forward; a chain of ladders is climbed in one go
+        int top = rules.end(toPosition, forward);
+        if (top != toPosition) {
+            currentPlayer.setPosition(top);
+            record.setLadder(toPosition, top);
+            if (notify) {
+                for (Ladder ladder = jumps.ladderAt(toPosition); ladder != null && ladder.from != top; ladder = jumps.ladderAt(ladder.to)) {
+                    fireEvent(new GameEvent.LadderClimbed(currentPlayer, seat, ladder));
+                }
+            }
+        }
 
         // Check for winner
-        if (currentPlayer.getPosition() >= 64) {
+        int finalPosition = currentPlayer.getPosition();
+        if (rules.isFinish(finalPosition)) {
             gameOver = true;
             winner = currentPlayer;
+            playerQueue.poll();
             // Bonus points for winning
-            currentPlayer.addPoints(200);
+            addPoints(currentPlayer, seat, rules.getWinBonus(), notify);
 
             // Calculate game time
             long gameTime = System.currentTimeMillis() - gameStartTime;
@@ -256,14 +428,176 @@ public class GameEngine {
 
             // Update leaderboard
             leaderboard.addScore(currentPlayer.getName(), currentPlayer.getPoints(), gameTime);
+            if (notify) fireEvent(new GameEvent.GameWon(currentPlayer, seat, currentPlayer.getPoints(), gameTime));
         } else {
-            // Add player back to queue if game continues
-            playerQueue.offer(currentPlayer);
+            // Ending on a double-turn tile (a multiple of 5 with the classic rules) goes again
+            if (rules.isDoubleTurn(finalPosition)) {
+                record.setDoubleTurn(true);
+            } else {
+                // Add player back to queue if game continues
+                playerQueue.offer(playerQueue.poll());
+            }
+            if (notify) fireEvent(new GameEvent.TurnEnded(currentPlayer, seat, playerQueue.peek(), record.isDoubleTurn()));
+        }
+
+        // Store in journal
+        moveHistory.append(seat, record);
+        if (moveLog != null) {
+            moveLog.appendLast(moveHistory);
         }
 
         return record;
     }
 
+    private void addPoints(Player player, int seat, int points, boolean notify) {
+        int oldPoints = player.getPoints();
+        player.addPoints(points);
+        rerank(seat);
+        if (notify) fireEvent(new GameEvent.ScoreChanged(player, seat, oldPoints, player.getPoints()));
+    }
+
+    /**
+     * Move a seat whose points changed to its new place in the ranking:
+     * towards the front if they went up, towards the back if they went
+     * down (scoring rules may take points away). A turn changes points by
+     * at most a few hundred, so it usually passes only a few seats
+     * instead of re-sorting the whole table.
+     */
+    private void rerank(int seat) {
+        int points = players.get(seat).getPoints();
+        int rank = rankOf[seat];
+        while (rank > 0) {
+            int ahead = rankedSeats[rank - 1];
+            if (!ranksBefore(seat, points, ahead)) break;
+            rankedSeats[rank] = ahead;
+            rankOf[ahead] = rank;
+            rank--;
+        }
+        while (rank < rankedSeats.length - 1) {
+            int behind = rankedSeats[rank + 1];
+            if (!ranksBefore(behind, players.get(behind).getPoints(), seat)) break;
+            rankedSeats[rank] = behind;
+            rankOf[behind] = rank;
+            rank++;
+        }
+        rankedSeats[rank] = seat;
+        rankOf[seat] = rank;
+    }
+
+    /**
+     * Ranking order: more points first, then the lower seat
+     */
+    private boolean ranksBefore(int seat, int points, int other) {
+        int otherPoints = players.get(other).getPoints();
+        return points > otherPoints || (points == otherPoints && seat < other);
+    }
+
+    /**
+     * Sort the ranking from scratch after points were set directly
+     */
+    private void rebuildRanking() {
+        Integer[] order = new Integer[players.size()];
+        for (int seat = 0; seat < order.length; seat++) {
+            order[seat] = seat;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(players.get(b).getPoints(), players.get(a).getPoints()));
+        for (int rank = 0; rank < order.length; rank++) {
+            rankedSeats[rank] = order[rank];
+            rankOf[order[rank]] = rank;
+        }
+    }
+
+    /**
+     * Listeners are called on the thread that plays the turn, in the order added
+     */
+    public void addGameListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeGameListener(GameListener listener) {
+        listeners.remove(listener);
+    }
+
+    protected void fireEvent(GameEvent event) {
+        for (GameListener listener : listeners) {
+            event.dispatchTo(listener);
+        }
+    }
+
+    /**
+     * Play turns until a player reaches the finish.
+     * Uses no Swing/AWT classes, so it can run on headless servers.
+     */
+    public Player playGame() {
+        while (!gameOver) {
+            playTurn();
+        }
+        return winner;
+    }
+
+    /**
+     * Copy the players and turn order into a compact GameState
+     */
+    public GameState snapshotState() {
+        GameState state = new GameState(players.size(), compiled);
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player p = players.get(seat);
+            state.setSeat(seat, p.getPosition(), p.getPoints(), p.getTotalMoves());
+        }
+
+        int winnerSeat = winner == null ? -1 : seats.get(winner);
+        int currentSeat = gameOver ? winnerSeat : getCurrentSeat();
+        state.setTurnState(currentSeat, winnerSeat, moveHistory.size());
+        return state;
+    }
+
+    /**
+     * Load positions, points, moves and turn order from a GameState.
+     * The state must have one seat per player and come from this board.
+     */
+    public void restoreState(GameState state) {
+        if (state.getSeats() != players.size()) {
+            throw new IllegalArgumentException("State has " + state.getSeats()
+                    + " seats but the game has " + players.size() + " players");
+        }
+
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player p = players.get(seat);
+            p.setPosition(state.getPosition(seat));
+            p.resetPoints();
+            p.addPoints(state.getPoints(seat));
+            p.setTotalMoves(state.getMoves(seat));
+        }
+
+        gameOver = state.isGameOver();
+        winner = gameOver ? players.get(state.getWinnerSeat()) : null;
+
+        // Rebuild the queue starting at the current seat; a winner has left the queue
+        playerQueue.clear();
+        for (int i = 0; i < players.size(); i++) {
+            int seat = (state.getCurrentSeat() + i) % players.size();
+            if (seat != state.getWinnerSeat()) {
+                playerQueue.offer(players.get(seat));
+            }
+        }
+        rebuildRanking();
+        fireEvent(new GameEvent.GameReset());
+    }
+
+    /**
+     * Replace the board, e.g. with the board of a remote game
+     */
+    protected void loadBoard(Ladder[] ladders) {
+        useBoard(ladders);
+    }
+
+    /**
+     * Add a move that was played elsewhere (e.g. on a server) to the history
+     */
+    protected void recordMove(int seat, MoveRecord record) {
+        moveHistory.append(seat, record);
+    }
+
     public void resetGame() {
         gameOver = false;
         winner = null;
@@ -272,8 +606,7 @@ public class GameEngine {
         gameStartTime = System.currentTimeMillis();
 
         // Generate new random ladders (exactly 5)
-        this.ladders = generateRandomLadders();
-        this.pathfinder = new DijkstraPathfinder(64, ladders);
+        useBoard(generateRandomLadders());
 
         // Reset all player positions and points to starting state
         for (Player player : players) {
@@ -283,5 +616,7 @@ public class GameEngine {
             player.resetMoves();
             playerQueue.offer(player);
         }
+        rebuildRanking();
+        fireEvent(new GameEvent.GameReset());
     }
 }
\ No newline at end of file
@@ -0,0 +1,180 @@
+/**
+ * Something that happened in a GameEngine. Listeners get one event per
+ * change, in the order the engine made them, on the thread that played
+ * the turn. Events are immutable.
+ */
+public abstract class GameEvent {
+    private final Player player;
+    private final int seat;
+
+    GameEvent(Player player, int seat) {
+        this.player = player;
+        this.seat = seat;
+    }
+
+    /**
+     * Player the event is about (null for GameReset)
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Seat of that player, -1 for GameReset
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Call the listener method for this event type
+     */
+    abstract void dispatchTo(GameListener listener);
+
+    /**
+     * The dice were rolled at the start of a turn
+     */
+    public static final class TurnRolled extends GameEvent {
+        private final int diceRoll;
+        private final double probability;
+        private final boolean forward;
+
+        TurnRolled(Player player, int seat, int diceRoll, double probability, boolean forward) {
+            super(player, seat);
+            this.diceRoll = diceRoll;
+            this.probability = probability;
+            this.forward = forward;
+        }
+
+        public int getDiceRoll() { return diceRoll; }
+        public double getProbability() { return probability; }
+        public boolean isForward() { return forward; }
+
+        @Override
+        void dispatchTo(GameListener listener) {
+            listener.turnRolled(this);
+        }
+    }
+
+    /**
+     * A player walked from one tile to another (dice steps, not ladders)
+     */
+    public static final class PlayerMoved extends GameEvent {
+        private final int from;
+        private final int to;
+
+        PlayerMoved(Player player, int seat, int from, int to) {
+            super(player, seat);
+            this.from = from;
+            this.to = to;
+        }
+
+        public int getFrom() { return from; }
+        public int getTo() { return to; }
+
+        @Override
+        void dispatchTo(GameListener listener) {
+            listener.playerMoved(this);
+        }
+    }
+
+    /**
+     * A player climbed a ladder after moving forward onto its foot
+     */
+    public static final class LadderClimbed extends GameEvent {
+        private final Ladder ladder;
+
+        LadderClimbed(Player player, int seat, Ladder ladder) {
+            super(player, seat);
+            this.ladder = ladder;
+        }
+
+        public Ladder getLadder() { return ladder; }
+
+        @Override
+        void dispatchTo(GameListener listener) {
+            listener.ladderClimbed(this);
+        }
+    }
+
+    /**
+     * A player's points changed
+     */
+    public static final class ScoreChanged extends GameEvent {
+        private final int oldPoints;
+        private final int newPoints;
+
+        ScoreChanged(Player player, int seat, int oldPoints, int newPoints) {
+            super(player, seat);
+            this.oldPoints = oldPoints;
+            this.newPoints = newPoints;
+        }
+
+        public int getOldPoints() { return oldPoints; }
+        public int getNewPoints() { return newPoints; }
+
+        @Override
+        void dispatchTo(GameListener listener) {
+            listener.scoreChanged(this);
+        }
+    }
+
+    /**
+     * A turn is over; nextPlayer moves next (the same player on a double turn)
+     */
+    public static final class TurnEnded extends GameEvent {
+        private final Player nextPlayer;
+        private final boolean doubleTurn;
+
+        TurnEnded(Player player, int seat, Player nextPlayer, boolean doubleTurn) {
+            super(player, seat);
+            this.nextPlayer = nextPlayer;
+            this.doubleTurn = doubleTurn;
+        }
+
+        public Player getNextPlayer() { return nextPlayer; }
+        public boolean isDoubleTurn() { return doubleTurn; }
+
+        @Override
+        void dispatchTo(GameListener listener) {
+            listener.turnEnded(this);
+        }
+    }
+
+    /**
+     * A player reached the finish; sent after their final ScoreChanged
+     */
+    public static final class GameWon extends GameEvent {
+        private final int points;
+        private final long completionTime;
+
+        GameWon(Player player, int seat, int points, long completionTime) {
+            super(player, seat);
+            this.points = points;
+            this.completionTime = completionTime;
+        }
+
+        public int getPoints() { return points; }
+        public long getCompletionTime() { return completionTime; }
+
+        @Override
+        void dispatchTo(GameListener listener) {
+            listener.gameWon(this);
+        }
+    }
+
+    /**
+     * The whole game was replaced (new game, new board or restored state);
+     * anything derived from earlier events is stale
+     */
+    public static final class GameReset extends GameEvent {
+        GameReset() {
+            super(null, -1);
+        }
+
+        @Override
+        void dispatchTo(GameListener listener) {
+            listener.gameReset(this);
+        }
+    }
+}
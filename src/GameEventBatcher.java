@@ -0,0 +1,93 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Listener that collects events and hands them to another listener in
+ * batches, e.g. once per frame on the Swing thread:
+ *
+ *   engine.addGameListener(new GameEventBatcher(SwingUtilities::invokeLater, view));
+ *
+ * Within a batch, repeated PlayerMoved or ScoreChanged events for the same
+ * seat are merged into the first one (first old value, last new value),
+ * which keeps its place, so a move is still delivered before the ladder
+ * climb and turn end that followed it. A GameReset drops everything
+ * before it. Other events are kept in order. Events may arrive on any
+ * thread.
+ */
+public class GameEventBatcher implements GameListener {
+    private final Executor deliveryExecutor;
+    private final GameListener target;
+    private List<GameEvent> pending = new ArrayList<>();
+    private boolean scheduled;
+
+    /**
+     * @param deliveryExecutor runs flush() once after the first event of a
+     *                         batch; null to call flush() yourself (e.g. from a frame timer)
+     */
+    public GameEventBatcher(Executor deliveryExecutor, GameListener target) {
+        this.deliveryExecutor = deliveryExecutor;
+        this.target = target;
+    }
+
+    /**
+     * Deliver everything collected so far
+     */
+    public void flush() {
+        List<GameEvent> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new ArrayList<>();
+            scheduled = false;
+        }
+        for (GameEvent event : batch) {
+            event.dispatchTo(target);
+        }
+    }
+
+    private synchronized void add(GameEvent event) {
+        if (event instanceof GameEvent.GameReset) {
+            pending.clear();
+        }
+        boolean mergeable = event instanceof GameEvent.PlayerMoved || event instanceof GameEvent.ScoreChanged;
+        if (!mergeable || !mergeIntoEarlier(event)) {
+            pending.add(event);
+        }
+
+        if (!scheduled && deliveryExecutor != null) {
+            scheduled = true;
+            deliveryExecutor.execute(this::flush);
+        }
+    }
+
+    /**
+     * Replace an earlier event of the same kind and seat, in its own
+     * place, with the combination of both. False if there was none.
+     */
+    private boolean mergeIntoEarlier(GameEvent event) {
+        for (int i = pending.size() - 1; i >= 0; i--) {
+            GameEvent earlier = pending.get(i);
+            if (earlier.getClass() != event.getClass() || earlier.getSeat() != event.getSeat()) continue;
+
+            if (event instanceof GameEvent.PlayerMoved) {
+                GameEvent.PlayerMoved last = (GameEvent.PlayerMoved) event;
+                pending.set(i, new GameEvent.PlayerMoved(last.getPlayer(), last.getSeat(),
+                        ((GameEvent.PlayerMoved) earlier).getFrom(), last.getTo()));
+            } else {
+                GameEvent.ScoreChanged last = (GameEvent.ScoreChanged) event;
+                pending.set(i, new GameEvent.ScoreChanged(last.getPlayer(), last.getSeat(),
+                        ((GameEvent.ScoreChanged) earlier).getOldPoints(), last.getNewPoints()));
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override public void turnRolled(GameEvent.TurnRolled event) { add(event); }
+    @Override public void playerMoved(GameEvent.PlayerMoved event) { add(event); }
+    @Override public void ladderClimbed(GameEvent.LadderClimbed event) { add(event); }
+    @Override public void scoreChanged(GameEvent.ScoreChanged event) { add(event); }
+    @Override public void turnEnded(GameEvent.TurnEnded event) { add(event); }
+    @Override public void gameWon(GameEvent.GameWon event) { add(event); }
+    @Override public void gameReset(GameEvent.GameReset event) { add(event); }
+}
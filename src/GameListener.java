@@ -0,0 +1,19 @@
+/**
+ * Receives GameEngine events. Every method does nothing by default, so a
+ * listener only overrides what it cares about (like Swing's adapters).
+ */
+public interface GameListener {
+    default void turnRolled(GameEvent.TurnRolled event) { }
+
+    default void playerMoved(GameEvent.PlayerMoved event) { }
+
+    default void ladderClimbed(GameEvent.LadderClimbed event) { }
+
+    default void scoreChanged(GameEvent.ScoreChanged event) { }
+
+    default void turnEnded(GameEvent.TurnEnded event) { }
+
+    default void gameWon(GameEvent.GameWon event) { }
+
+    default void gameReset(GameEvent.GameReset event) { }
+}
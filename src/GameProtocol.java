@@ -0,0 +1,132 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.IntFunction;
+
+/**
+ * Binary protocol between GameServer and RemoteGameClient.
+ *
+ * Every message is a frame: int length (of everything after it), byte
+ * type, payload. All numbers are big-endian. A reply has the request type
+ * with the high bit set; a failed request is answered with ERROR.
+ *
+ *   JOIN     int table (0 = new table), byte players, byte humans
+ *            -> int table, byte seats, byte first own seat, byte own seat count, names
+ *   ROLL     -> one move: long packed (MoveJournal layout), int points, char probability
+ *   STATE    -> byte seats, byte current seat, byte winner seat, long turns,
+ *               per seat (int position, int points, int moves),
+ *               short ladders, per ladder (int from, int to, int rgb)
+ *   HISTORY  int first move -> int first move, int count, count moves as in ROLL
+ *   NEW_GAME -> byte 1 if a new game started
+ *   ERROR    short length, UTF-8 message
+ *
+ * Seat numbers are unsigned bytes, so a table has at most 254 seats and
+ * 0xFF means "no seat" (e.g. no winner yet). Names are a short length
+ * followed by UTF-8 bytes.
+ */
+final class GameProtocol {
+    static final byte JOIN = 1;
+    static final byte ROLL = 2;
+    static final byte STATE = 3;
+    static final byte HISTORY = 4;
+    static final byte NEW_GAME = 5;
+    static final byte REPLY = (byte) 0x80;
+    static final byte ERROR = (byte) 0xFF;
+
+    static final int MAX_SEATS = 254;
+    static final int NO_SEAT = 0xFF;
+
+    static final int MAX_FRAME = 1 << 20;
+    static final int HISTORY_PAGE = 4096; // Moves per HISTORY reply
+    static final int MOVE_SIZE = 8 + 4 + 2;
+
+    private GameProtocol() {
+    }
+
+    /**
+     * Frame with room for the payload; the caller fills it and calls flip()
+     */
+    static ByteBuffer frame(byte type, int payloadSize) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 1 + payloadSize);
+        buffer.putInt(1 + payloadSize);
+        buffer.put(type);
+        return buffer;
+    }
+
+    static ByteBuffer error(String message) {
+        byte[] bytes = utf8(message);
+        ByteBuffer buffer = frame(ERROR, 2 + bytes.length);
+        putString(buffer, bytes);
+        return buffer.flip();
+    }
+
+    static ByteBuffer move(MoveJournal journal, int index) {
+        ByteBuffer buffer = frame((byte) (ROLL | REPLY), MOVE_SIZE);
+        putMove(buffer, journal, index);
+        return buffer.flip();
+    }
+
+    static void putMove(ByteBuffer buffer, MoveJournal journal, int index) {
+        buffer.putLong(journal.getPacked(index));
+        buffer.putInt(journal.getPointsEarned(index));
+        buffer.putChar(journal.getPackedProbability(index));
+    }
+
+    static MoveRecord getMove(ByteBuffer buffer, IntFunction<String> seatNames, int finishTile) {
+        long packed = buffer.getLong();
+        int points = buffer.getInt();
+        char probability = buffer.getChar();
+        return MoveJournal.unpack(packed, points, probability, seatNames.apply(MoveJournal.seatOf(packed)), finishTile);
+    }
+
+    static ByteBuffer state(GameState state, Ladder[] ladders) {
+        int seats = state.getSeats();
+        ByteBuffer buffer = frame((byte) (STATE | REPLY), 3 + 8 + seats * 12 + 2 + ladders.length * 12);
+        buffer.put((byte) seats);
+        putSeat(buffer, state.getCurrentSeat());
+        putSeat(buffer, state.getWinnerSeat());
+        buffer.putLong(state.getTurns());
+        for (int seat = 0; seat < seats; seat++) {
+            buffer.putInt(state.getPosition(seat));
+            buffer.putInt(state.getPoints(seat));
+            buffer.putInt(state.getMoves(seat));
+        }
+        buffer.putShort((short) ladders.length);
+        for (Ladder ladder : ladders) {
+            buffer.putInt(ladder.getFrom());
+            buffer.putInt(ladder.getTo());
+            buffer.putInt(ladder.getRGB());
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Seat as an unsigned byte; a negative seat is sent as NO_SEAT
+     */
+    static void putSeat(ByteBuffer buffer, int seat) {
+        buffer.put((byte) (seat < 0 ? NO_SEAT : seat));
+    }
+
+    static int getSeat(ByteBuffer buffer) {
+        int seat = buffer.get() & 0xFF;
+        return seat == NO_SEAT ? -1 : seat;
+    }
+
+    static byte[] utf8(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("String too long: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    static void putString(ByteBuffer buffer, byte[] utf8) {
+        buffer.putShort((short) utf8.length);
+        buffer.put(utf8);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
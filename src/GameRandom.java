@@ -0,0 +1,109 @@
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Random source for one game, split into independent streams:
+ * board generation, dice (roll and direction) and visual effects.
+ * All streams are derived from one seed, so a game can be replayed
+ * exactly by creating a new GameRandom with the same seed and algorithm.
+ * Drawing effects never changes the dice, and vice versa.
+ *
+ * Any algorithm known to RandomGeneratorFactory can be used, e.g.
+ * "SplittableRandom", "Xoroshiro128PlusPlus" or "L64X128MixRandom".
+ * A stream is not thread-safe; give every thread its own GameRandom.
+ */
+public class GameRandom {
+    public static final String DEFAULT_ALGORITHM = "SplittableRandom";
+    public static final String SEED_PROPERTY = "ladderfall.seed"; // -Dladderfall.seed=... replays a game
+
+    private static final int BOARD_STREAM = 1;
+    private static final int DICE_STREAM = 2;
+    private static final int EFFECTS_STREAM = 3;
+
+    private final long seed;
+    private final String algorithm;
+    private final RandomGenerator board;
+    private final RandomGenerator dice;
+    private final RandomGenerator effects;
+
+    public GameRandom(long seed, String algorithm) {
+        RandomGeneratorFactory<RandomGenerator> factory = RandomGeneratorFactory.of(algorithm);
+        this.seed = seed;
+        this.algorithm = algorithm;
+        this.board = factory.create(streamSeed(seed, BOARD_STREAM));
+        this.dice = factory.create(streamSeed(seed, DICE_STREAM));
+        this.effects = factory.create(streamSeed(seed, EFFECTS_STREAM));
+    }
+
+    public GameRandom(long seed) {
+        this(seed, DEFAULT_ALGORITHM);
+    }
+
+    private GameRandom(RandomGenerator shared) {
+        this.seed = 0;
+        this.algorithm = null;
+        this.board = shared;
+        this.dice = shared;
+        this.effects = shared;
+    }
+
+    /**
+     * New random seed, unless the ladderfall.seed system property is set
+     */
+    public static GameRandom create() {
+        Long seed = Long.getLong(SEED_PROPERTY);
+        return new GameRandom(seed != null ? seed : new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Use one existing generator for every stream (e.g. a simulation
+     * worker's SplittableRandom). Such a game has no replayable seed.
+     */
+    public static GameRandom wrap(RandomGenerator generator) {
+        return new GameRandom(generator);
+    }
+
+    /**
+     * SplitMix64 finalizer over seed and stream number, so neighbouring
+     * seeds and streams start far apart
+     */
+    private static long streamSeed(long seed, int stream) {
+        long z = seed + stream * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public RandomGenerator board() {
+        return board;
+    }
+
+    public RandomGenerator dice() {
+        return dice;
+    }
+
+    public RandomGenerator effects() {
+        return effects;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * False for wrapped generators, which have no seed to replay
+     */
+    public boolean isReplayable() {
+        return algorithm != null;
+    }
+
+    @Override
+    public String toString() {
+        return isReplayable() ? algorithm + " seed " + seed : "shared generator";
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Declarative rules of a game: how likely a roll moves forward, how many
+ * faces the die has, which tiles give a double turn, the win bonus and
+ * the scoring. Immutable; the with...() methods return changed copies:
+ *
+ *   GameRules fast = GameRules.CLASSIC.withForwardProbability(0.8).withDoubleTurnEvery(0);
+ *
+ * compile() turns the rules and a board into the flat tables that
+ * GameEngine and GameState play from, so variants cost nothing per turn.
+ */
+public final class GameRules {
+    public static final int MAX_DIE_FACES = 6; // The journal stores rolls in 3 bits and the dice panel draws 1-6 pips
+
+    public static final GameRules CLASSIC = new GameRules(GameEngine.FORWARD_PROBABILITY, 6, 5,
+            GameEngine.WIN_BONUS, ScoringRules.CLASSIC);
+
+    private final double forwardProbability;
+    private final int dieFaces;
+    private final int doubleTurnEvery;
+    private final int winBonus;
+    private final ScoringRules scoring;
+
+    private GameRules(double forwardProbability, int dieFaces, int doubleTurnEvery, int winBonus, ScoringRules scoring) {
+        // At 0 nobody ever moves forward, so games never end and expected moves are infinite
+        if (!(forwardProbability > 0 && forwardProbability <= 1)) {
+            throw new IllegalArgumentException("forwardProbability must be above 0 and at most 1: " + forwardProbability);
+        }
+        if (dieFaces < 1 || dieFaces > MAX_DIE_FACES) {
+            throw new IllegalArgumentException("dieFaces must be between 1 and " + MAX_DIE_FACES + ": " + dieFaces);
+        }
+        if (doubleTurnEvery < 0) {
+            throw new IllegalArgumentException("doubleTurnEvery must not be negative: " + doubleTurnEvery);
+        }
+        this.forwardProbability = forwardProbability;
+        this.dieFaces = dieFaces;
+        this.doubleTurnEvery = doubleTurnEvery;
+        this.winBonus = winBonus;
+        this.scoring = scoring;
+    }
+
+    /**
+     * Chance that a roll moves forward (green), in (0, 1]; otherwise it moves backward
+     */
+    public GameRules withForwardProbability(double forwardProbability) {
+        return new GameRules(forwardProbability, dieFaces, doubleTurnEvery, winBonus, scoring);
+    }
+
+    /**
+     * Rolls are 1..dieFaces
+     */
+    public GameRules withDieFaces(int dieFaces) {
+        return new GameRules(forwardProbability, dieFaces, doubleTurnEvery, winBonus, scoring);
+    }
+
+    /**
+     * Ending a turn on a multiple of this (before the finish) gives a double turn; 0 turns them off
+     */
+    public GameRules withDoubleTurnEvery(int doubleTurnEvery) {
+        return new GameRules(forwardProbability, dieFaces, doubleTurnEvery, winBonus, scoring);
+    }
+
+    public GameRules withWinBonus(int winBonus) {
+        return new GameRules(forwardProbability, dieFaces, doubleTurnEvery, winBonus, scoring);
+    }
+
+    public GameRules withScoring(ScoringRules scoring) {
+        return new GameRules(forwardProbability, dieFaces, doubleTurnEvery, winBonus, scoring);
+    }
+
+    public double getForwardProbability() {
+        return forwardProbability;
+    }
+
+    public int getDieFaces() {
+        return dieFaces;
+    }
+
+    public int getDoubleTurnEvery() {
+        return doubleTurnEvery;
+    }
+
+    public int getWinBonus() {
+        return winBonus;
+    }
+
+    public ScoringRules getScoring() {
+        return scoring;
+    }
+
+    /**
+     * Tables for playing these rules on one board
+     */
+    public CompiledRules compile(JumpTable board) {
+        return new CompiledRules(this, board);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("forward %.2f, d%d, double turn every %d, win bonus %d",
+                forwardProbability, dieFaces, doubleTurnEvery, winBonus);
+    }
+}
@@ -0,0 +1,471 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Non-blocking game server (protocol in GameProtocol). A few selector
+ * threads serve every connection of every table; the games themselves run
+ * on the TableHost's virtual threads. A request becomes a GameTable.call(),
+ * and its reply is queued for the selector once the table has answered.
+ * Replies on one connection are always sent in request order.
+ *
+ * A connection that opens a table owns all its human seats (e.g. a kiosk
+ * with several local players) and the table closes when it disconnects.
+ * Other connections can join an open table and take one free human seat.
+ */
+public class GameServer implements Closeable {
+    public static final int DEFAULT_PORT = 7464;
+    private static final long ACCEPT_BACKOFF_MILLIS = 100; // Pause after a failed accept, e.g. out of file descriptors
+
+    private final TableHost host;
+    private final long turnDelayMillis;
+    private final ServerSocketChannel server;
+    private final SelectorLoop[] loops;
+    private final Map<Integer, boolean[]> claimedSeats = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+    private int nextLoop;
+
+    /**
+     * @param selectorThreads threads doing network I/O for all tables
+     * @param turnDelayMillis bot pacing of tables opened by clients
+     */
+    public GameServer(TableHost host, InetSocketAddress address, int selectorThreads, long turnDelayMillis)
+            throws IOException {
+        if (selectorThreads < 1) {
+            throw new IllegalArgumentException("selectorThreads must be at least 1");
+        }
+        this.host = host;
+        this.turnDelayMillis = turnDelayMillis;
+        this.server = ServerSocketChannel.open();
+        this.server.bind(address);
+        this.server.configureBlocking(false);
+
+        this.loops = new SelectorLoop[selectorThreads];
+        for (int i = 0; i < selectorThreads; i++) {
+            loops[i] = new SelectorLoop(i);
+        }
+        server.register(loops[0].selector, SelectionKey.OP_ACCEPT);
+        for (SelectorLoop loop : loops) {
+            loop.thread.start();
+        }
+    }
+
+    public int getPort() {
+        try {
+            return ((InetSocketAddress) server.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        for (SelectorLoop loop : loops) {
+            loop.selector.wakeup();
+        }
+        for (SelectorLoop loop : loops) {
+            try {
+                loop.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        server.close();
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            try {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            SelectorLoop loop = loops[nextLoop];
+            nextLoop = (nextLoop + 1) % loops.length;
+            loop.register(channel);
+        }
+    }
+
+    /**
+     * One selector thread and the connections it serves
+     */
+    private final class SelectorLoop implements Runnable {
+        final Selector selector;
+        final Thread thread;
+        final Queue<SocketChannel> newChannels = new ConcurrentLinkedQueue<>();
+        final Queue<Connection> pendingWrites = new ConcurrentLinkedQueue<>();
+        SelectionKey pausedAccept; // Server key while accepting backs off
+        long acceptResumeAt;
+
+        SelectorLoop(int index) throws IOException {
+            this.selector = Selector.open();
+            this.thread = new Thread(this, "game-server-" + index);
+        }
+
+        void register(SocketChannel channel) {
+            newChannels.add(channel);
+            selector.wakeup();
+        }
+
+        void wantsWrite(Connection connection) {
+            pendingWrites.add(connection);
+            selector.wakeup();
+        }
+
+        /**
+         * Accept what is waiting on the server socket. A failure such as
+         * running out of file descriptors is logged and accepting pauses
+         * briefly instead of failing again on every select.
+         */
+        private void acceptReady(SelectionKey key) {
+            try {
+                if (key.isValid() && key.isAcceptable()) {
+                    accept();
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Game server accept failed: " + e);
+                if (key.isValid()) {
+                    key.interestOps(0);
+                    pausedAccept = key;
+                    acceptResumeAt = System.nanoTime() + ACCEPT_BACKOFF_MILLIS * 1_000_000;
+                }
+            }
+        }
+
+        /**
+         * Wait for events, waking up in time to resume a paused accept
+         */
+        private void select() throws IOException {
+            if (pausedAccept == null) {
+                selector.select();
+                return;
+            }
+
+            long wait = acceptResumeAt - System.nanoTime();
+            if (wait > 0) {
+                selector.select(Math.max(1, wait / 1_000_000));
+            } else {
+                selector.selectNow();
+            }
+            if (System.nanoTime() - acceptResumeAt >= 0) {
+                if (pausedAccept.isValid()) {
+                    pausedAccept.interestOps(SelectionKey.OP_ACCEPT);
+                }
+                pausedAccept = null;
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!closed) {
+                    select();
+
+                    for (SocketChannel channel; (channel = newChannels.poll()) != null; ) {
+                        Connection connection = new Connection(channel, this);
+                        try {
+                            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+                        } catch (IOException e) {
+                            connection.close(); // Closed by the client before it was registered
+                        }
+                    }
+                    for (Connection c; (c = pendingWrites.poll()) != null; ) {
+                        try {
+                            if (c.key.isValid()) {
+                                c.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                            }
+                        } catch (CancelledKeyException e) {
+                            // Closed since it queued the write
+                        }
+                    }
+
+                    for (SelectionKey key : selector.selectedKeys()) {
+                        if (key.attachment() == null) {
+                            acceptReady(key);
+                            continue;
+                        }
+
+                        // One failing connection must never end the loop that serves the others
+                        Connection connection = (Connection) key.attachment();
+                        try {
+                            if (key.isValid() && key.isReadable()) connection.read();
+                            if (key.isValid() && key.isWritable()) connection.write();
+                        } catch (IOException e) {
+                            connection.close();
+                        } catch (RuntimeException e) {
+                            System.err.println("Game server connection failed: " + e);
+                            connection.close();
+                        }
+                    }
+                    selector.selectedKeys().clear();
+                }
+            } catch (IOException e) {
+                System.err.println("Game server loop failed: " + e.getMessage());
+            } finally {
+                for (SelectionKey key : selector.keys()) {
+                    if (key.attachment() instanceof Connection) {
+                        ((Connection) key.attachment()).close();
+                    }
+                }
+                try {
+                    selector.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * One client: its read buffer, queued replies and joined table
+     */
+    private final class Connection {
+        final SocketChannel channel;
+        final SelectorLoop loop;
+        final Queue<ByteBuffer> out = new ConcurrentLinkedQueue<>();
+        SelectionKey key;
+        ByteBuffer in = ByteBuffer.allocate(256);
+        CompletableFuture<Void> lastReply = CompletableFuture.completedFuture(null);
+        GameTable table;
+        boolean[] ownSeats;
+        boolean tableOwner;
+
+        Connection(SocketChannel channel, SelectorLoop loop) {
+            this.channel = channel;
+            this.loop = loop;
+        }
+
+        void read() throws IOException {
+            if (channel.read(in) < 0) {
+                close();
+                return;
+            }
+
+            in.flip();
+            while (in.remaining() >= 4) {
+                int length = in.getInt(in.position());
+                if (length < 1 || length > GameProtocol.MAX_FRAME) {
+                    close();
+                    return;
+                }
+                if (in.remaining() < 4 + length) {
+                    if (in.capacity() < 4 + length) {
+                        // Grow so the whole frame fits
+                        ByteBuffer bigger = ByteBuffer.allocate(4 + length);
+                        bigger.put(in);
+                        in = bigger;
+                        return;
+                    }
+                    break;
+                }
+
+                ByteBuffer frame = in.slice(in.position() + 4, length);
+                in.position(in.position() + 4 + length);
+                handle(frame.get(), frame);
+            }
+            in.compact();
+        }
+
+        void write() throws IOException {
+            for (ByteBuffer buffer; (buffer = out.peek()) != null; ) {
+                channel.write(buffer);
+                if (buffer.hasRemaining()) {
+                    return; // Socket buffer full; wait for the next OP_WRITE
+                }
+                out.poll();
+            }
+            key.interestOps(SelectionKey.OP_READ);
+            if (!out.isEmpty()) {
+                // A reply arrived while switching interest
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+        }
+
+        void handle(byte type, ByteBuffer payload) {
+            CompletableFuture<ByteBuffer> reply;
+            try {
+                if (type == GameProtocol.JOIN) {
+                    reply = join(payload.getInt(), payload.get() & 0xFF, payload.get() & 0xFF);
+                } else if (table == null) {
+                    throw new IllegalStateException("Join a table first");
+                } else if (type == GameProtocol.ROLL) {
+                    GameTable t = table;
+                    boolean[] seats = ownSeats;
+                    reply = t.call(e -> {
+                        t.playHumanTurn(seats);
+                        return GameProtocol.move(e.getMoveHistory(), e.getMoveHistory().size() - 1);
+                    });
+                } else if (type == GameProtocol.STATE) {
+                    reply = table.call(e -> GameProtocol.state(e.snapshotState(), e.getLadders()));
+                } else if (type == GameProtocol.HISTORY) {
+                    int first = payload.getInt();
+                    reply = table.call(e -> history(e.getMoveHistory(), first));
+                } else if (type == GameProtocol.NEW_GAME) {
+                    if (!tableOwner) {
+                        throw new IllegalStateException("Only the table owner can start a new game");
+                    }
+                    reply = table.newGame().thenApply(started -> {
+                        ByteBuffer buffer = GameProtocol.frame((byte) (GameProtocol.NEW_GAME | GameProtocol.REPLY), 1);
+                        return buffer.put((byte) (started ? 1 : 0)).flip();
+                    });
+                } else {
+                    throw new IllegalArgumentException("Unknown request type " + type);
+                }
+            } catch (RuntimeException e) {
+                reply = CompletableFuture.failedFuture(e);
+            }
+            send(reply);
+        }
+
+        CompletableFuture<ByteBuffer> join(int tableId, int players, int humans) {
+            if (table != null) {
+                throw new IllegalStateException("Already at table " + table.getId());
+            }
+
+            int firstSeat;
+            int seatCount;
+            if (tableId == 0) {
+                if (players < 1 || players > GameProtocol.MAX_SEATS || humans > players) {
+                    throw new IllegalArgumentException("Invalid table: " + players + " players, " + humans + " humans");
+                }
+                boolean[] human = new boolean[players];
+                for (int i = 0; i < humans; i++) {
+                    human[i] = true;
+                }
+                table = host.openHostedTable(new GameEngine(players), human, turnDelayMillis, 0);
+                claimedSeats.put(table.getId(), human.clone());
+                ownSeats = human;
+                tableOwner = true;
+                firstSeat = 0;
+                seatCount = humans;
+            } else {
+                GameTable joined = host.getTable(tableId);
+                boolean[] claimed = claimedSeats.get(tableId);
+                if (joined == null || claimed == null) {
+                    throw new IllegalArgumentException("No table " + tableId);
+                }
+                firstSeat = claimSeat(joined, claimed);
+                seatCount = 1;
+                table = joined;
+                ownSeats = new boolean[joined.getSeats()];
+                ownSeats[firstSeat] = true;
+            }
+
+            int tableNumber = table.getId();
+            return table.call(e -> {
+                byte[][] names = new byte[e.getAllPlayers().size()][];
+                int size = 4 + 3;
+                for (int seat = 0; seat < names.length; seat++) {
+                    names[seat] = GameProtocol.utf8(e.getAllPlayers().get(seat).getName());
+                    size += 2 + names[seat].length;
+                }
+
+                ByteBuffer buffer = GameProtocol.frame((byte) (GameProtocol.JOIN | GameProtocol.REPLY), size);
+                buffer.putInt(tableNumber);
+                buffer.put((byte) names.length);
+                buffer.put((byte) firstSeat);
+                buffer.put((byte) seatCount);
+                for (byte[] name : names) {
+                    GameProtocol.putString(buffer, name);
+                }
+                return buffer.flip();
+            });
+        }
+
+        int claimSeat(GameTable joined, boolean[] claimed) {
+            synchronized (claimed) {
+                for (int seat = 0; seat < claimed.length; seat++) {
+                    if (joined.isHumanSeat(seat) && !claimed[seat]) {
+                        claimed[seat] = true;
+                        return seat;
+                    }
+                }
+            }
+            throw new IllegalStateException("No free seat at table " + joined.getId());
+        }
+
+        ByteBuffer history(MoveJournal journal, int first) {
+            int from = Math.max(0, Math.min(first, journal.size()));
+            int count = Math.min(GameProtocol.HISTORY_PAGE, journal.size() - from);
+            ByteBuffer buffer = GameProtocol.frame((byte) (GameProtocol.HISTORY | GameProtocol.REPLY),
+                    8 + count * GameProtocol.MOVE_SIZE);
+            buffer.putInt(from);
+            buffer.putInt(count);
+            for (int i = from; i < from + count; i++) {
+                GameProtocol.putMove(buffer, journal, i);
+            }
+            return buffer.flip();
+        }
+
+        /**
+         * Queue a reply behind every earlier one, so replies keep request order
+         */
+        void send(CompletableFuture<ByteBuffer> reply) {
+            CompletableFuture<ByteBuffer> safe = reply.exceptionally(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                return GameProtocol.error(String.valueOf(cause.getMessage()));
+            });
+            lastReply = lastReply.thenCombine(safe, (ignored, buffer) -> {
+                out.add(buffer);
+                loop.wantsWrite(this);
+                return null;
+            });
+        }
+
+        void close() {
+            if (key != null) {
+                key.cancel();
+            }
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+
+            if (table == null) return;
+            if (tableOwner) {
+                claimedSeats.remove(table.getId());
+                host.closeTable(table.getId());
+            } else {
+                boolean[] claimed = claimedSeats.get(table.getId());
+                if (claimed != null) {
+                    synchronized (claimed) {
+                        for (int seat = 0; seat < ownSeats.length; seat++) {
+                            if (ownSeats[seat]) claimed[seat] = false;
+                        }
+                    }
+                }
+            }
+            table = null;
+        }
+    }
+
+    /**
+     * Run a server until the process is stopped.
+     * Arguments: [port] [selectorThreads] [turnDelayMillis]
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int selectorThreads = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        long turnDelayMillis = args.length > 2 ? Long.parseLong(args[2]) : 500;
+
+        TableHost host = new TableHost();
+        GameServer server = new GameServer(host, new InetSocketAddress(port), selectorThreads, turnDelayMillis);
+        System.out.println("LadderFall server listening on port " + server.getPort());
+        Thread.currentThread().join();
+    }
+}
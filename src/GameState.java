@@ -0,0 +1,161 @@
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Compact struct-of-arrays game state for high-volume simulation.
+ * Positions, points and move counts live in int arrays indexed by seat,
+ * and the turn order is a single seat cursor. A turn follows the same
+ * rules and uses the same random draws as GameEngine.playTurn(), and it
+ * allocates nothing.
+ *
+ * Use GameEngine.snapshotState() and GameEngine.restoreState() to move
+ * between this form and the Player objects.
+ */
+public final class GameState {
+    private final int seats;
+    private final int[] positions;
+    private final int[] points;
+    private final int[] moves;
+    private int[] jump; // Tile a forward landing ends on (see JumpTable)
+    private int[] tilePoints; // Points for landing on each tile (see ScoreTable)
+    private byte[] tileFlags; // FINISH and DOUBLE_TURN by tile (see CompiledRules)
+    private int finishTile;
+    private int dieFaces;
+    private double forwardProbability;
+    private int winBonus;
+    private int currentSeat;
+    private int winnerSeat;
+    private long turns;
+
+    /**
+     * State on the classic board with the given ladders
+     */
+    public GameState(int seats, Ladder[] ladders) {
+        this(seats, GameRules.CLASSIC.compile(new JumpTable(GameEngine.FINISH_TILE, ladders)));
+    }
+
+    public GameState(int seats, CompiledRules rules) {
+        if (seats < 1) {
+            throw new IllegalArgumentException("seats must be at least 1");
+        }
+        this.seats = seats;
+        this.positions = new int[seats];
+        this.points = new int[seats];
+        this.moves = new int[seats];
+        setRules(rules);
+        reset();
+    }
+
+    /**
+     * Play on another board or by other rules (e.g. after a new board is generated)
+     */
+    public void setRules(CompiledRules rules) {
+        this.jump = rules.jump;
+        this.tilePoints = rules.tilePoints;
+        this.tileFlags = rules.tileFlags;
+        this.finishTile = rules.getFinishTile();
+        this.dieFaces = rules.getDieFaces();
+        this.forwardProbability = rules.getForwardProbability();
+        this.winBonus = rules.getWinBonus();
+    }
+
+    /**
+     * Put every seat back on tile 1 with no points, seat 0 to move
+     */
+    public void reset() {
+        Arrays.fill(positions, 1);
+        Arrays.fill(points, 0);
+        Arrays.fill(moves, 0);
+        currentSeat = 0;
+        winnerSeat = -1;
+        turns = 0;
+    }
+
+    /**
+     * Play one turn for the current seat.
+     * Returns the seat that moved, or -1 if the game is already over.
+     */
+    public int playTurn(RandomGenerator random) {
+        if (winnerSeat >= 0) {
+            return -1;
+        }
+
+        int seat = currentSeat;
+        int diceRoll = random.nextInt(dieFaces) + 1;
+        boolean forward = random.nextDouble() <= forwardProbability;
+
+        int landing = Math.max(1, Math.min(positions[seat] + (forward ? diceRoll : -diceRoll), finishTile));
+        points[seat] += tilePoints[landing];
+        moves[seat]++;
+        turns++;
+
+        // Ladders can only be climbed when moving forward
+        int position = forward ? jump[landing] : landing;
+        positions[seat] = position;
+
+        int flags = tileFlags[position];
+        if ((flags & CompiledRules.FINISH) != 0) {
+            winnerSeat = seat;
+            points[seat] += winBonus;
+        } else if ((flags & CompiledRules.DOUBLE_TURN) == 0) {
+            // A double-turn tile lets the seat go again, otherwise pass to the next seat
+            currentSeat = seat + 1 == seats ? 0 : seat + 1;
+        }
+
+        return seat;
+    }
+
+    /**
+     * Play until a seat reaches the finish. Returns the winning seat.
+     */
+    public int playGame(RandomGenerator random) {
+        while (winnerSeat < 0) {
+            playTurn(random);
+        }
+        return winnerSeat;
+    }
+
+    public int getSeats() {
+        return seats;
+    }
+
+    public int getPosition(int seat) {
+        return positions[seat];
+    }
+
+    public int getPoints(int seat) {
+        return points[seat];
+    }
+
+    public int getMoves(int seat) {
+        return moves[seat];
+    }
+
+    public int getCurrentSeat() {
+        return currentSeat;
+    }
+
+    public int getWinnerSeat() {
+        return winnerSeat;
+    }
+
+    public boolean isGameOver() {
+        return winnerSeat >= 0;
+    }
+
+    public long getTurns() {
+        return turns;
+    }
+
+    void setSeat(int seat, int position, int seatPoints, int seatMoves) {
+        positions[seat] = position;
+        points[seat] = seatPoints;
+        moves[seat] = seatMoves;
+    }
+
+    void setTurnState(int currentSeat, int winnerSeat, long turns) {
+        this.currentSeat = currentSeat;
+        this.winnerSeat = winnerSeat;
+        this.turns = turns;
+    }
+}
@@ -0,0 +1,216 @@
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * One GameEngine driven by its own thread (a virtual thread when run by
+ * TableHost). Only that thread touches the engine; other threads send it
+ * work through the table's mailbox with call() and roll().
+ *
+ * Bot seats play by themselves, one turn every turnDelay. On a human
+ * seat's turn the table waits until roll() is called for that seat.
+ * After a game ends, a bot-only table waits one more turnDelay and starts
+ * the next game on a new board; a table with human seats keeps showing
+ * the result until newGame() is called.
+ */
+public class GameTable implements Runnable {
+    private final int id;
+    private final GameEngine engine;
+    private final boolean[] humanSeats;
+    private final long turnDelayNanos;
+    private final int gamesToPlay;
+    private boolean hasHumans;
+    private final BlockingQueue<Runnable> mailbox = new LinkedBlockingQueue<>();
+    private volatile boolean closed;
+    private volatile boolean finished;
+    private volatile long turnsPlayed;
+    private volatile int gamesFinished;
+
+    /**
+     * @param humanSeats  seats that wait for roll(); null or all false for a bot table
+     * @param turnDelayMillis pause before each bot turn and between games
+     * @param gamesToPlay number of games before the table stops, 0 to play until closed
+     */
+    public GameTable(int id, GameEngine engine, boolean[] humanSeats, long turnDelayMillis, int gamesToPlay) {
+        int seats = engine.getAllPlayers().size();
+        if (humanSeats != null && humanSeats.length != seats) {
+            throw new IllegalArgumentException("Expected " + seats + " seat flags, got " + humanSeats.length);
+        }
+        if (turnDelayMillis < 0 || gamesToPlay < 0) {
+            throw new IllegalArgumentException("turnDelayMillis and gamesToPlay must not be negative");
+        }
+        this.id = id;
+        this.engine = engine;
+        this.humanSeats = humanSeats != null ? humanSeats.clone() : new boolean[seats];
+        this.turnDelayNanos = TimeUnit.MILLISECONDS.toNanos(turnDelayMillis);
+        this.gamesToPlay = gamesToPlay;
+        for (boolean human : this.humanSeats) {
+            hasHumans |= human;
+        }
+    }
+
+    @Override
+    public void run() {
+        long nextAction = System.nanoTime() + turnDelayNanos;
+        try {
+            while (!closed) {
+                boolean waitingForHuman = engine.isGameOver() ? hasHumans : humanSeats[currentSeat()];
+                Runnable task;
+                if (waitingForHuman) {
+                    task = mailbox.take();
+                } else {
+                    long wait = nextAction - System.nanoTime();
+                    task = wait > 0 ? mailbox.poll(wait, TimeUnit.NANOSECONDS) : mailbox.poll();
+                }
+
+                if (task != null) {
+                    task.run();
+                    continue;
+                }
+
+                // Pacing delay is over: a bot plays, or the next game starts
+                if (engine.isGameOver()) {
+                    if (!nextGame()) break;
+                } else {
+                    engine.playTurn();
+                    turnsPlayed++;
+                }
+                nextAction = System.nanoTime() + turnDelayNanos;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            finished = true;
+            failPending();
+        }
+    }
+
+    /**
+     * Fail every queued call once the table has stopped. A call fails by
+     * itself without touching the engine, so any thread may do this.
+     */
+    private void failPending() {
+        for (Runnable task; (task = mailbox.poll()) != null; ) {
+            task.run();
+        }
+    }
+
+    private boolean nextGame() {
+        if (engine.isGameOver()) {
+            gamesFinished++;
+        }
+        if (gamesToPlay > 0 && gamesFinished >= gamesToPlay) {
+            return false;
+        }
+        engine.resetGame();
+        return true;
+    }
+
+    private int currentSeat() {
+        return engine.getCurrentSeat();
+    }
+
+    /**
+     * Run a function on the table thread, e.g. to read the game state.
+     * The engine must not be kept or used outside the function.
+     * Fails with IllegalStateException once the table has stopped.
+     */
+    public <T> CompletableFuture<T> call(Function<GameEngine, T> function) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        mailbox.add(() -> {
+            if (finished) {
+                result.completeExceptionally(new IllegalStateException("Table " + id + " is closed"));
+                return;
+            }
+            try {
+                result.complete(function.apply(engine));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        if (finished) {
+            // The table thread may already have drained its mailbox for the last time
+            failPending();
+        }
+        return result;
+    }
+
+    /**
+     * Play the turn of a human seat. Fails with IllegalStateException when
+     * it is not that seat's turn or the table has stopped.
+     */
+    public CompletableFuture<MoveRecord> roll(int seat) {
+        return call(e -> {
+            boolean[] seats = new boolean[humanSeats.length];
+            if (seat >= 0 && seat < seats.length) {
+                seats[seat] = true;
+            }
+            return playHumanTurn(seats);
+        });
+    }
+
+    /**
+     * Play the current turn if it belongs to one of the given human seats.
+     * Only valid inside call(), i.e. on the table thread.
+     */
+    MoveRecord playHumanTurn(boolean[] seats) {
+        if (engine.isGameOver()) {
+            throw new IllegalStateException("No game running at table " + id);
+        }
+        int seat = currentSeat();
+        if (!humanSeats[seat] || !seats[seat]) {
+            throw new IllegalStateException("Not your turn at table " + id);
+        }
+        MoveRecord record = engine.playTurn();
+        turnsPlayed++;
+        return record;
+    }
+
+    /**
+     * End the current game and start the next one now instead of after the
+     * pacing delay. Completes with false when the table has played all its games.
+     */
+    public CompletableFuture<Boolean> newGame() {
+        return call(e -> {
+            boolean next = nextGame();
+            if (!next) {
+                closed = true;
+            }
+            return next;
+        });
+    }
+
+    /**
+     * Stop after the current action
+     */
+    public void close() {
+        closed = true;
+        mailbox.add(() -> { });
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public boolean isHumanSeat(int seat) {
+        return humanSeats[seat];
+    }
+
+    public int getSeats() {
+        return humanSeats.length;
+    }
+
+    public long getTurnsPlayed() {
+        return turnsPlayed;
+    }
+
+    public int getGamesFinished() {
+        return gamesFinished;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+}
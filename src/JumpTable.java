@@ -0,0 +1,82 @@
+/**
+ * Where a forward move really ends on one board: jump[t] is the tile a
+ * player stands on after landing on tile t, which is t itself or the top
+ * of the ladder at t. Ladder chains (a ladder ending on another ladder's
+ * foot) are followed to the last top when the table is built, so the
+ * engine, GameState, the pathfinder and the board panel all resolve a
+ * landing with one array read. Immutable; build a new one for a new board.
+ */
+public final class JumpTable {
+    private final int boardSize;
+    private final Ladder[] ladders;
+    private final int[] jump; // Indexed 0..boardSize
+    private final Ladder[] ladderAt; // Ladder whose foot is on each tile, or null
+
+    public JumpTable(int boardSize, Ladder[] ladders) {
+        this.boardSize = boardSize;
+        this.ladders = ladders;
+        this.jump = new int[boardSize + 1];
+        this.ladderAt = new Ladder[boardSize + 1];
+
+        for (Ladder ladder : ladders) {
+            // A ladder must start before the finish and stay on the board
+            if (ladder.from < 1 || ladder.from >= boardSize || ladder.to < 1 || ladder.to > boardSize) continue;
+            ladderAt[ladder.from] = ladder;
+        }
+
+        // Tops are filled in from the finish down, so a chain's next top is already final
+        for (int tile = boardSize; tile >= 0; tile--) {
+            Ladder ladder = ladderAt[tile];
+            if (ladder == null) {
+                jump[tile] = tile;
+            } else if (ladder.to > tile) {
+                jump[tile] = jump[ladder.to];
+            } else {
+                jump[tile] = resolveDownward(tile);
+            }
+        }
+    }
+
+    /**
+     * Follow a chain that goes down at some point (not generated by the
+     * engine, but possible for boards from elsewhere). Stops at the first
+     * repeated tile, so a loop of ladders cannot hang the game.
+     */
+    private int resolveDownward(int tile) {
+        int position = tile;
+        for (int climbed = 0; ladderAt[position] != null && climbed <= ladders.length; climbed++) {
+            position = ladderAt[position].to;
+            if (position == tile) break;
+        }
+        return position;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public Ladder[] getLadders() {
+        return ladders;
+    }
+
+    /**
+     * Tile a forward move that lands on 'tile' ends on
+     */
+    public int jump(int tile) {
+        return jump[tile];
+    }
+
+    /**
+     * The whole table, indexed by tile (0..boardSize). Callers must not modify it.
+     */
+    int[] table() {
+        return jump;
+    }
+
+    /**
+     * First ladder climbed when landing on 'tile', or null
+     */
+    public Ladder ladderAt(int tile) {
+        return tile < 0 || tile > boardSize ? null : ladderAt[tile];
+    }
+}
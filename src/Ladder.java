@@ -3,24 +3,37 @@ import java.awt.Color;
 public class Ladder {
     int from;
     int to;
-    Color color;
+    int rgb;
     String name;
+    private Color color; // Created lazily so headless games never load AWT
 
-    public Ladder(int from, int to, Color color) {
+    public Ladder(int from, int to, int rgb) {
         this.from = from;
         this.to = to;
-        this.color = color;
+        this.rgb = rgb;
         this.name = "Ladder " + from + "→" + to;
     }
 
+    public Ladder(int from, int to, Color color) {
+        this(from, to, color.getRGB() & 0xFFFFFF);
+        this.color = color;
+    }
+
     public int getFrom() { return from; }
     public int getTo() { return to; }
-    public Color getColor() { return color; }
+    public int getRGB() { return rgb; }
     public String getName() { return name; }
     public int getLength() { return to - from; }
 
+    public Color getColor() {
+        if (color == null) {
+            color = new Color(rgb);
+        }
+        return color;
+    }
+
     @Override
     public String toString() {
         return name + " (+" + getLength() + " tiles)";
     }
-}
\ No newline at end of file
+}
@@ -75,13 +75,13 @@ public class LadderFallSetup {
                 int y = (getHeight() + fm.getAscent()) / 2;
 
                 // Strong shadow for readability
-                g2d.setColor(new Color(0, 0, 0, 180));
+                g2d.setColor(PaintCache.color(0, 0, 0, 180));
                 g2d.setFont(getFont());
                 g2d.drawString(getText(), x + 5, y + 5);
 
                 // Outline for better contrast
-                g2d.setColor(new Color(20, 40, 60));
-                g2d.setStroke(new BasicStroke(4));
+                g2d.setColor(PaintCache.color(20, 40, 60));
+                g2d.setStroke(PaintCache.stroke(4));
                 for (int i = -2; i <= 2; i++) {
                     for (int j = -2; j <= 2; j++) {
                         if (i != 0 || j != 0) {
@@ -91,11 +91,10 @@ public class LadderFallSetup {
                 }
 
                 // Main text with bright gradient
-                GradientPaint gradient = new GradientPaint(
-                        0, y - fm.getAscent(), new Color(255, 255, 150),
-                        0, y, new Color(150, 220, 255)
-                );
-                g2d.setPaint(gradient);
+                g2d.setPaint(PaintCache.gradient(
+                        0, y - fm.getAscent(), PaintCache.color(255, 255, 150),
+                        0, y, PaintCache.color(150, 220, 255)
+                ));
                 g2d.drawString(getText(), x, y);
             }
         };
@@ -131,12 +130,12 @@ public class LadderFallSetup {
                 int y = (getHeight() + fm.getAscent()) / 2;
 
                 // Shadow
-                g2d.setColor(new Color(0, 0, 0, 150));
+                g2d.setColor(PaintCache.color(0, 0, 0, 150));
                 g2d.setFont(getFont());
                 g2d.drawString(getText(), x + 2, y + 2);
 
                 // Main text
-                g2d.setColor(new Color(255, 255, 180));
+                g2d.setColor(PaintCache.color(255, 255, 180));
                 g2d.drawString(getText(), x, y);
             }
         };
@@ -242,7 +241,7 @@ public class LadderFallSetup {
             int numPlayers = Integer.parseInt(selected.replaceAll("[^0-9]", ""));
 
             SoundManager.getInstance().stopSetupMusic();
-            parent.gameEngine = new GameEngine(numPlayers);
+            parent.gameEngine = DiceGameGUI.createEngine(numPlayers);
 
             for (int i = 0; i < numPlayers; i++) {
                 String name = nameFields[i].getText().trim();
@@ -272,6 +271,7 @@ public class LadderFallSetup {
     }
 
     private static JPanel createPlayerRow(int index, Color color, JTextField[] nameFields) {
+        Color brightColor = color.brighter();
         JPanel row = new JPanel(new FlowLayout(FlowLayout.CENTER, 7, 3)) { // Reduced padding: 10→7, 5→3
             @Override
             protected void paintComponent(Graphics g) {
@@ -279,7 +279,7 @@ public class LadderFallSetup {
                 g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
                 // Background with rounded corners - subtle glow effect
-                g2d.setColor(new Color(255, 255, 255, 15));
+                g2d.setColor(PaintCache.color(255, 255, 255, 15));
                 g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 20, 20);
 
                 super.paintComponent(g);
@@ -310,7 +310,7 @@ public class LadderFallSetup {
                 g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
 
                 // Draw colored circle background (smaller)
-                g2d.setColor(color.brighter());
+                g2d.setColor(brightColor);
                 g2d.fillOval(0, 0, 28, 28);
 
                 // Draw darker inner circle for depth
@@ -319,7 +319,7 @@ public class LadderFallSetup {
 
                 // Draw white border
                 g2d.setColor(Color.WHITE);
-                g2d.setStroke(new BasicStroke(2));
+                g2d.setStroke(PaintCache.stroke(2));
                 g2d.drawOval(1, 1, 26, 26);
 
                 super.paintComponent(g);
@@ -372,9 +372,23 @@ public class LadderFallSetup {
     }
 
     private static JButton createGlowButton(String text, Color baseColor) {
+        Color lightColor = baseColor.brighter().brighter();
+        Color darkColor = baseColor.darker();
         JButton button = new JButton(text) {
             private float hoverScale = 1.0f;
-            private Timer hoverTimer;
+            private float hoverTarget = 1.0f;
+            private long lastFrame;
+
+            // Grows or shrinks by 0.01 every 20 ms towards the target, then stops
+            private final AnimationClock.Animation hover = now -> {
+                float change = (now - lastFrame) / 20_000_000f * 0.01f;
+                lastFrame = now;
+                hoverScale = hoverTarget > hoverScale
+                        ? Math.min(hoverTarget, hoverScale + change)
+                        : Math.max(hoverTarget, hoverScale - change);
+                repaint();
+                return hoverScale != hoverTarget;
+            };
 
             {
                 addMouseListener(new MouseAdapter() {
@@ -382,28 +396,25 @@ public class LadderFallSetup {
                     public void mouseEntered(MouseEvent e) {
                         // Play subtle hover sound
                         SoundManager.getInstance().playButtonHover();
-
-                        if (hoverTimer != null) hoverTimer.stop();
-                        hoverTimer = new Timer(20, evt -> {
-                            hoverScale = Math.min(1.05f, hoverScale + 0.01f);
-                            repaint();
-                        });
-                        hoverTimer.start();
+                        animateHover(1.05f);
                     }
 
                     @Override
                     public void mouseExited(MouseEvent e) {
-                        if (hoverTimer != null) hoverTimer.stop();
-                        hoverTimer = new Timer(20, evt -> {
-                            hoverScale = Math.max(1.0f, hoverScale - 0.01f);
-                            repaint();
-                            if (hoverScale <= 1.0f) hoverTimer.stop();
-                        });
-                        hoverTimer.start();
+                        animateHover(1.0f);
                     }
                 });
             }
 
+            private void animateHover(float target) {
+                hoverTarget = target;
+                AnimationClock clock = AnimationClock.getInstance();
+                if (!clock.isRunning(hover)) {
+                    lastFrame = System.nanoTime();
+                    clock.start(hover);
+                }
+            }
+
             @Override
             protected void paintComponent(Graphics g) {
                 Graphics2D g2d = (Graphics2D) g;
@@ -424,52 +435,43 @@ public class LadderFallSetup {
                 // Multi-layer glow effect
                 for (int i = 15; i > 0; i--) {
                     int alpha = (int)(40 - i * 2.5);
-                    g2d.setColor(new Color(
-                            baseColor.getRed(),
-                            baseColor.getGreen(),
-                            baseColor.getBlue(),
-                            Math.max(0, alpha)
-                    ));
+                    g2d.setColor(PaintCache.color(baseColor, Math.max(0, alpha)));
                     g2d.fillRoundRect(-i, -i, w + i * 2, h + i * 2, 35 + i, 35 + i);
                 }
 
                 // Button shadow
-                g2d.setColor(new Color(0, 0, 0, 100));
+                g2d.setColor(PaintCache.color(0, 0, 0, 100));
                 g2d.fillRoundRect(3, 3, w, h, 35, 35);
 
                 // Button gradient with 3D effect
-                GradientPaint gradient = new GradientPaint(
-                        0, 0, baseColor.brighter().brighter(),
-                        0, h, baseColor.darker()
-                );
-                g2d.setPaint(gradient);
+                g2d.setPaint(PaintCache.gradient(
+                        0, 0, lightColor,
+                        0, h, darkColor
+                ));
                 g2d.fillRoundRect(0, 0, w, h, 35, 35);
 
                 // Top shine for 3D effect
-                GradientPaint topShine = new GradientPaint(
-                        0, 0, new Color(255, 255, 255, 100),
-                        0, h / 3, new Color(255, 255, 255, 0)
-                );
-                g2d.setPaint(topShine);
+                g2d.setPaint(PaintCache.gradient(
+                        0, 0, PaintCache.color(255, 255, 255, 100),
+                        0, h / 3, PaintCache.color(255, 255, 255, 0)
+                ));
                 g2d.fillRoundRect(0, 0, w, h / 3, 35, 35);
 
                 // Bottom shadow for depth
-                GradientPaint bottomShadow = new GradientPaint(
-                        0, h * 2 / 3, new Color(0, 0, 0, 0),
-                        0, h, new Color(0, 0, 0, 60)
-                );
-                g2d.setPaint(bottomShadow);
+                g2d.setPaint(PaintCache.gradient(
+                        0, h * 2 / 3, PaintCache.color(0, 0, 0, 0),
+                        0, h, PaintCache.color(0, 0, 0, 60)
+                ));
                 g2d.fillRoundRect(0, h * 2 / 3, w, h / 3, 35, 35);
 
                 // Glossy inner border
-                g2d.setColor(new Color(255, 255, 255, 150));
-                g2d.setStroke(new BasicStroke(2));
+                g2d.setColor(PaintCache.color(255, 255, 255, 150));
+                g2d.setStroke(PaintCache.stroke(2));
                 g2d.drawRoundRect(2, 2, w - 4, h - 4, 32, 32);
 
                 // Outer border with theme color
-                Color borderColor = baseColor.brighter().brighter();
-                g2d.setColor(borderColor);
-                g2d.setStroke(new BasicStroke(3));
+                g2d.setColor(lightColor);
+                g2d.setStroke(PaintCache.stroke(3));
                 g2d.drawRoundRect(0, 0, w - 1, h - 1, 35, 35);
 
                 super.paintComponent(g);
@@ -541,15 +543,14 @@ class BackgroundPanel extends JPanel {
             g2d.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
 
             // Add a slight dark overlay for better text readability
-            g2d.setColor(new Color(0, 20, 10, 60));
+            g2d.setColor(PaintCache.color(0, 20, 10, 60));
             g2d.fillRect(0, 0, getWidth(), getHeight());
         } else {
             // Fallback: beautiful forest green gradient
-            GradientPaint gradient = new GradientPaint(
-                    0, 0, new Color(40, 80, 60),
-                    0, getHeight(), new Color(20, 50, 40)
-            );
-            g2d.setPaint(gradient);
+            g2d.setPaint(PaintCache.gradient(
+                    0, 0, PaintCache.color(40, 80, 60),
+                    0, getHeight(), PaintCache.color(20, 50, 40)
+            ));
             g2d.fillRect(0, 0, getWidth(), getHeight());
         }
     }
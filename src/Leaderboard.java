@@ -1,99 +1,343 @@
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Every finished game, indexed twice: by score (highest first) and by
+ * completion time (fastest first). Inserts and rank queries take
+ * O(log n), and top-K reads take O(k).
+ *
+ * Safe for many game threads at once, without locks. The indexes, each
+ * player's best entry and the highest-score / fastest-time records live
+ * in one immutable Snapshot, and writers swap in the next one with
+ * compare-and-set. Readers call snapshot() once and get values that
+ * belong together. Every snapshot carries a version one higher than the
+ * one it replaced; the store writes changes in version order, so the log
+ * replays them in the order they were shown.
+ */
 public class Leaderboard {
-    private List<LeaderboardEntry> entries;
-    private int highestScore;
-    private String highestScorePlayer;
-    private long fastestTime;
-    private String fastestPlayer;
+    // Ties keep insertion order through the entry sequence number
+    private static final Comparator<LeaderboardEntry> BY_SCORE = (a, b) -> {
+        int c = Integer.compare(b.score, a.score);
+        return c != 0 ? c : Long.compare(a.sequence, b.sequence);
+    };
+    private static final Comparator<LeaderboardEntry> BY_TIME = (a, b) -> {
+        int c = Long.compare(a.completionTime, b.completionTime);
+        return c != 0 ? c : Long.compare(a.sequence, b.sequence);
+    };
+    // One entry per player, so the tree works as a persistent map
+    private static final Comparator<LeaderboardEntry> BY_PLAYER = (a, b) -> a.playerName.compareTo(b.playerName);
+    private static final Snapshot EMPTY = new Snapshot(new PersistentRankTree<>(BY_SCORE),
+            new PersistentRankTree<>(BY_TIME), new PersistentRankTree<>(BY_PLAYER), 0, "", Long.MAX_VALUE, "", 0, null);
 
-    public Leaderboard() {
-        this.entries = new ArrayList<>();
-        this.highestScore = 0;
-        this.highestScorePlayer = "";
-        this.fastestTime = Long.MAX_VALUE;
-        this.fastestPlayer = "";
-    }
+    private final AtomicReference<Snapshot> state = new AtomicReference<>(EMPTY);
 
     public void addScore(String playerName, int score, long completionTime) {
-        LeaderboardEntry entry = new LeaderboardEntry(playerName, score, completionTime);
-        entries.add(entry);
+        Date timestamp = new Date();
+        Snapshot current;
+        Snapshot updated;
+        LeaderboardEntry entry;
+        do {
+            current = state.get();
+            // Numbered by the version that adds it, so equal scores rank in the order the log replays them
+            entry = new LeaderboardEntry(playerName, score, completionTime, timestamp, current.version + 1);
+            updated = current.with(entry);
+        } while (!state.compareAndSet(current, updated));
 
-        // Update highest score
-        if (score > highestScore) {
-            highestScore = score;
-            highestScorePlayer = playerName;
+        if (updated.store != null) {
+            updated.store.append(entry, updated.version);
         }
+    }
 
-        // Update fastest time
-        if (completionTime < fastestTime && completionTime > 0) {
-            fastestTime = completionTime;
-            fastestPlayer = playerName;
-        }
+    /**
+     * Load saved entries and persist every later change to 'store' (called
+     * by LeaderboardStore.attach). Rebuilds both indexes in one pass, much
+     * faster than calling addScore() for each. The entries themselves are
+     * not logged: they come from the store.
+     */
+    void load(List<LeaderboardEntry> entries, LeaderboardStore store) {
+        Snapshot current;
+        Snapshot updated;
+        do {
+            current = state.get();
+            List<LeaderboardEntry> all = new ArrayList<>(current.getTopScores(current.size()));
+            long sequence = current.version;
+            for (LeaderboardEntry e : entries) {
+                all.add(new LeaderboardEntry(e.playerName, e.score, e.completionTime, e.timestamp, ++sequence));
+            }
+            updated = Snapshot.of(all, sequence + 1, store);
+            // Set before the swap, so the store knows its first version before any change reaches it
+            store.startAt(updated.version + 1);
+        } while (!state.compareAndSet(current, updated));
+    }
 
-        // Sort entries by score (descending)
-        entries.sort((a, b) -> Integer.compare(b.score, a.score));
+    /**
+     * Consistent, immutable view of the whole leaderboard
+     */
+    public Snapshot snapshot() {
+        return state.get();
     }
 
     public List<LeaderboardEntry> getTopScores(int limit) {
-        return entries.stream()
-                .limit(limit)
-                .collect(java.util.stream.Collectors.toList());
+        return snapshot().getTopScores(limit);
     }
 
     public List<LeaderboardEntry> getFastestTimes(int limit) {
-        return entries.stream()
-                .filter(e -> e.completionTime > 0)
-                .sorted((a, b) -> Long.compare(a.completionTime, b.completionTime))
-                .limit(limit)
-                .collect(java.util.stream.Collectors.toList());
+        return snapshot().getFastestTimes(limit);
+    }
+
+    public int size() {
+        return snapshot().size();
+    }
+
+    public int getScoreRank(int score) {
+        return snapshot().getScoreRank(score);
+    }
+
+    /**
+     * 1-based rank of a player's best score, or -1 if they never finished
+     */
+    public int getScoreRank(String playerName) {
+        return snapshot().getScoreRank(playerName);
+    }
+
+    public int getTimeRank(long completionTime) {
+        return snapshot().getTimeRank(completionTime);
+    }
+
+    public LeaderboardEntry getBestEntry(String playerName) {
+        return snapshot().getBestEntry(playerName);
+    }
+
+    public LeaderboardEntry getEntryAtRank(int index) {
+        return snapshot().getEntryAtRank(index);
     }
 
     public int getHighestScore() {
-        return highestScore;
+        return snapshot().getHighestScore();
     }
 
     public String getHighestScorePlayer() {
-        return highestScorePlayer;
+        return snapshot().getHighestScorePlayer();
     }
 
     public long getFastestTime() {
-        return fastestTime;
+        return snapshot().getFastestTime();
     }
 
     public String getFastestPlayer() {
-        return fastestPlayer;
+        return snapshot().getFastestPlayer();
     }
 
     public String getFormattedFastestTime() {
-        if (fastestTime == Long.MAX_VALUE) return "N/A";
+        return snapshot().getFormattedFastestTime();
+    }
 
-        long seconds = fastestTime / 1000;
-        long minutes = seconds / 60;
-        seconds = seconds % 60;
+    public void clear() {
+        Snapshot current;
+        Snapshot updated;
+        do {
+            current = state.get();
+            updated = new Snapshot(EMPTY.byScore, EMPTY.byTime, EMPTY.bestByPlayer, 0, "", Long.MAX_VALUE, "",
+                    current.version + 1, current.store);
+        } while (!state.compareAndSet(current, updated));
 
-        return String.format("%d:%02d", minutes, seconds);
+        if (updated.store != null) {
+            updated.store.appendClear(updated.version);
+        }
     }
 
-    public void clear() {
-        entries.clear();
-        highestScore = 0;
-        highestScorePlayer = "";
-        fastestTime = Long.MAX_VALUE;
-        fastestPlayer = "";
+    /**
+     * Immutable leaderboard state at one point in time
+     */
+    public static final class Snapshot {
+        private final PersistentRankTree<LeaderboardEntry> byScore;
+        private final PersistentRankTree<LeaderboardEntry> byTime; // Only entries with a completion time
+        private final PersistentRankTree<LeaderboardEntry> bestByPlayer; // Each player's highest-scoring entry
+        private final int highestScore;
+        private final String highestScorePlayer;
+        private final long fastestTime;
+        private final String fastestPlayer;
+        private final long version; // One more than the snapshot this one replaced
+        private final LeaderboardStore store; // Logs changes made on top of this snapshot, or null
+
+        private Snapshot(PersistentRankTree<LeaderboardEntry> byScore, PersistentRankTree<LeaderboardEntry> byTime,
+                         PersistentRankTree<LeaderboardEntry> bestByPlayer,
+                         int highestScore, String highestScorePlayer, long fastestTime, String fastestPlayer,
+                         long version, LeaderboardStore store) {
+            this.byScore = byScore;
+            this.byTime = byTime;
+            this.bestByPlayer = bestByPlayer;
+            this.highestScore = highestScore;
+            this.highestScorePlayer = highestScorePlayer;
+            this.fastestTime = fastestTime;
+            this.fastestPlayer = fastestPlayer;
+            this.version = version;
+            this.store = store;
+        }
+
+        private static Snapshot of(List<LeaderboardEntry> entries, long version, LeaderboardStore store) {
+            List<LeaderboardEntry> timed = new ArrayList<>();
+            Map<String, LeaderboardEntry> best = new HashMap<>();
+            for (LeaderboardEntry e : entries) {
+                if (e.completionTime > 0) {
+                    timed.add(e);
+                }
+                best.merge(e.playerName, e, (old, n) -> isBetter(n, old) ? n : old);
+            }
+
+            PersistentRankTree<LeaderboardEntry> byScore = PersistentRankTree.of(BY_SCORE, entries);
+            PersistentRankTree<LeaderboardEntry> byTime = PersistentRankTree.of(BY_TIME, timed);
+            LeaderboardEntry top = byScore.isEmpty() ? null : byScore.get(0);
+            LeaderboardEntry fastest = byTime.isEmpty() ? null : byTime.get(0);
+            boolean hasHigh = top != null && top.score > 0;
+
+            return new Snapshot(byScore, byTime,
+                    PersistentRankTree.of(BY_PLAYER, new ArrayList<>(best.values())),
+                    hasHigh ? top.score : 0,
+                    hasHigh ? top.playerName : "",
+                    fastest != null ? fastest.completionTime : Long.MAX_VALUE,
+                    fastest != null ? fastest.playerName : "",
+                    version, store);
+        }
+
+        private Snapshot with(LeaderboardEntry entry) {
+            boolean timed = entry.completionTime > 0;
+            boolean newHigh = entry.score > highestScore;
+            boolean newFastest = timed && entry.completionTime < fastestTime;
+            LeaderboardEntry best = bestByPlayer.find(entry);
+
+            return new Snapshot(
+                    byScore.insert(entry),
+                    timed ? byTime.insert(entry) : byTime,
+                    best == null || isBetter(entry, best) ? bestByPlayer.put(entry) : bestByPlayer,
+                    newHigh ? entry.score : highestScore,
+                    newHigh ? entry.playerName : highestScorePlayer,
+                    newFastest ? entry.completionTime : fastestTime,
+                    newFastest ? entry.playerName : fastestPlayer,
+                    version + 1, store
+            );
+        }
+
+        /**
+         * Whether an entry replaces a player's earlier best (ties keep the earlier one)
+         */
+        private static boolean isBetter(LeaderboardEntry entry, LeaderboardEntry best) {
+            return entry.score > best.score;
+        }
+
+        public List<LeaderboardEntry> getTopScores(int limit) {
+            return byScore.first(limit);
+        }
+
+        public List<LeaderboardEntry> getFastestTimes(int limit) {
+            return byTime.first(limit);
+        }
+
+        public int size() {
+            return byScore.size();
+        }
+
+        /**
+         * 1-based rank a score would have (1 + number of strictly higher scores)
+         */
+        public int getScoreRank(int score) {
+            return byScore.rankOf(new LeaderboardEntry("", score, 0, Long.MIN_VALUE)) + 1;
+        }
+
+        /**
+         * 1-based rank of an entry in this snapshot
+         */
+        public int getScoreRank(LeaderboardEntry entry) {
+            return byScore.rankOf(entry) + 1;
+        }
+
+        /**
+         * 1-based rank of a player's best score, or -1 if they never finished
+         */
+        public int getScoreRank(String playerName) {
+            LeaderboardEntry best = getBestEntry(playerName);
+            return best == null ? -1 : getScoreRank(best);
+        }
+
+        /**
+         * A player's highest-scoring entry, or null if they never finished
+         */
+        public LeaderboardEntry getBestEntry(String playerName) {
+            return bestByPlayer.find(new LeaderboardEntry(playerName, 0, 0, Long.MIN_VALUE));
+        }
+
+        /**
+         * 1-based rank a completion time would have (1 + number of strictly faster times)
+         */
+        public int getTimeRank(long completionTime) {
+            return byTime.rankOf(new LeaderboardEntry("", 0, completionTime, Long.MIN_VALUE)) + 1;
+        }
+
+        /**
+         * Entry at a 0-based position of the score ranking
+         */
+        public LeaderboardEntry getEntryAtRank(int index) {
+            return byScore.get(index);
+        }
+
+        public int getHighestScore() {
+            return highestScore;
+        }
+
+        public String getHighestScorePlayer() {
+            return highestScorePlayer;
+        }
+
+        public long getFastestTime() {
+            return fastestTime;
+        }
+
+        public String getFastestPlayer() {
+            return fastestPlayer;
+        }
+
+        public String getFormattedFastestTime() {
+            if (fastestTime == Long.MAX_VALUE) return "N/A";
+
+            long seconds = fastestTime / 1000;
+            long minutes = seconds / 60;
+            seconds = seconds % 60;
+
+            return String.format("%d:%02d", minutes, seconds);
+        }
     }
 
     public static class LeaderboardEntry {
+        private static final AtomicLong NEXT_SEQUENCE = new AtomicLong();
+
         public final String playerName;
         public final int score;
         public final long completionTime;
         public final Date timestamp;
+        final long sequence; // Insertion order, breaks ties between equal entries
 
         public LeaderboardEntry(String playerName, int score, long completionTime) {
+            this(playerName, score, completionTime, NEXT_SEQUENCE.getAndIncrement());
+        }
+
+        LeaderboardEntry(String playerName, int score, long completionTime, long sequence) {
+            this(playerName, score, completionTime, new Date(), sequence);
+        }
+
+        /**
+         * Entry restored from disk, keeping its original timestamp
+         */
+        LeaderboardEntry(String playerName, int score, long completionTime, Date timestamp) {
+            this(playerName, score, completionTime, timestamp, NEXT_SEQUENCE.getAndIncrement());
+        }
+
+        private LeaderboardEntry(String playerName, int score, long completionTime, Date timestamp, long sequence) {
             this.playerName = playerName;
             this.score = score;
             this.completionTime = completionTime;
-            this.timestamp = new Date();
+            this.timestamp = timestamp;
+            this.sequence = sequence;
         }
 
         public String getFormattedTime() {
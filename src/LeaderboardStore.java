@@ -0,0 +1,497 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Crash-safe storage for a Leaderboard: an append-only write-ahead log
+ * (leaderboard.wal) plus a compacted snapshot (leaderboard.snapshot).
+ *
+ * addScore() only puts the entry on a queue. One writer thread takes
+ * everything queued, writes it and calls fsync once for the whole batch
+ * (group commit), so a finished game never waits for the disk and many
+ * tables finishing together share one fsync. Changes can reach the queue
+ * out of order, so the writer holds each one back until every earlier
+ * snapshot version has been written.
+ *
+ * Log records are [length][CRC32][payload]. A torn tail left by a crash
+ * fails the check and is cut off on recovery. Every compactEvery records
+ * the writer folds the log into a new snapshot (temp file, fsync, atomic
+ * rename) and starts the next log generation. The snapshot stores the
+ * generation it covers, so a crash at any step of compaction neither
+ * loses nor repeats an entry, and recovery replays at most one log.
+ */
+public class LeaderboardStore implements Closeable {
+    public static final String DIRECTORY_PROPERTY = "ladderfall.leaderboard"; // -Dladderfall.leaderboard=<dir>
+    public static final int DEFAULT_COMPACT_EVERY = 100_000;
+
+    private static final int WAL_MAGIC = 0x4C46574C;      // "LFWL"
+    private static final int SNAPSHOT_MAGIC = 0x4C46534E; // "LFSN"
+    private static final int VERSION = 1;
+    private static final int WAL_HEADER_SIZE = 16;
+    private static final byte ADD = 1;
+    private static final byte CLEAR = 2;
+    private static final byte FLUSH = 3;
+    private static final byte STOP = 4;
+
+    private final Path walFile;
+    private final Path snapshotFile;
+    private final int compactEvery;
+    private final BlockingQueue<Op> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private List<StoredEntry> recovered = new ArrayList<>();
+    private FileChannel wal;
+    private volatile long firstVersion; // Version of the first change logged after attach
+    private long generation;
+    private int walRecords;
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    /**
+     * One request for the writer thread
+     */
+    private static final class Op {
+        final byte type;
+        final Leaderboard.LeaderboardEntry entry;
+        final long version; // ADD and CLEAR: snapshot version the change produced
+        final CompletableFuture<Void> done; // FLUSH only: completed once durable
+
+        Op(byte type, Leaderboard.LeaderboardEntry entry, long version, CompletableFuture<Void> done) {
+            this.type = type;
+            this.entry = entry;
+            this.version = version;
+            this.done = done;
+        }
+    }
+
+    /**
+     * Entry as read back from disk
+     */
+    private static final class StoredEntry {
+        final String playerName;
+        final int score;
+        final long completionTime;
+        final long timestamp;
+
+        StoredEntry(String playerName, int score, long completionTime, long timestamp) {
+            this.playerName = playerName;
+            this.score = score;
+            this.completionTime = completionTime;
+            this.timestamp = timestamp;
+        }
+    }
+
+    public LeaderboardStore(Path directory) throws IOException {
+        this(directory, DEFAULT_COMPACT_EVERY);
+    }
+
+    /**
+     * Open the store and recover its contents: the snapshot, then the log
+     */
+    public LeaderboardStore(Path directory, int compactEvery) throws IOException {
+        if (compactEvery < 1) {
+            throw new IllegalArgumentException("compactEvery must be positive: " + compactEvery);
+        }
+        this.compactEvery = compactEvery;
+        this.walFile = directory.resolve("leaderboard.wal");
+        this.snapshotFile = directory.resolve("leaderboard.snapshot");
+        Files.createDirectories(directory);
+
+        long covered = readSnapshot(snapshotFile, recovered);
+        openWal(covered);
+
+        this.writer = new Thread(this::writeLoop, "leaderboard-store");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Load the recovered entries into the leaderboard, then persist every
+     * later addScore() and clear() made on it
+     */
+    public void attach(Leaderboard leaderboard) {
+        List<Leaderboard.LeaderboardEntry> entries = new ArrayList<>(recovered.size());
+        for (StoredEntry e : recovered) {
+            entries.add(new Leaderboard.LeaderboardEntry(
+                    e.playerName, e.score, e.completionTime, new Date(e.timestamp)));
+        }
+        recovered = new ArrayList<>();
+        leaderboard.load(entries, this);
+    }
+
+    /**
+     * Version the first logged change will have (set by Leaderboard.load)
+     */
+    void startAt(long version) {
+        firstVersion = version;
+    }
+
+    /**
+     * Number of entries found on disk when the store was opened (before attach)
+     */
+    public int getRecoveredCount() {
+        return recovered.size();
+    }
+
+    /**
+     * Queue an entry for the next group commit; never blocks
+     */
+    void append(Leaderboard.LeaderboardEntry entry, long version) {
+        if (!closed) {
+            queue.add(new Op(ADD, entry, version, null));
+        }
+    }
+
+    /**
+     * Queue a record that empties the leaderboard
+     */
+    void appendClear(long version) {
+        if (!closed) {
+            queue.add(new Op(CLEAR, null, version, null));
+        }
+    }
+
+    /**
+     * Block until everything queued so far is on disk
+     */
+    public void flush() throws IOException {
+        if (closed) return;
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        queue.add(new Op(FLUSH, null, 0, done));
+        try {
+            done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while flushing the leaderboard");
+        } catch (ExecutionException e) {
+            throw new IOException("Leaderboard flush failed", e.getCause());
+        }
+    }
+
+    /**
+     * Write what is queued, compact, and stop the writer thread
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        queue.add(new Op(STOP, null, 0, null));
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        wal.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // ---- writer thread ----
+
+    private void writeLoop() {
+        List<Op> batch = new ArrayList<>();
+        // Changes whose earlier versions have not arrived yet
+        PriorityQueue<Op> pending = new PriorityQueue<>(Comparator.comparingLong(op -> op.version));
+        List<CompletableFuture<Void>> flushes = new ArrayList<>();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        long nextVersion = -1;
+        boolean stop = false;
+
+        while (!stop) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch);
+
+            for (Op op : batch) {
+                if (op.type == ADD || op.type == CLEAR) {
+                    pending.add(op);
+                } else if (op.type == FLUSH) {
+                    flushes.add(op.done);
+                } else if (op.type == STOP) {
+                    stop = true;
+                }
+            }
+            batch.clear();
+
+            bytes.reset();
+            int records = 0;
+            if (nextVersion < 0 && !pending.isEmpty()) {
+                nextVersion = firstVersion;
+            }
+            // The missing version is only between its swap and the queue, so it
+            // arrives with a later batch; on close, write what there is in order
+            while (!pending.isEmpty() && (pending.peek().version == nextVersion || stop)) {
+                Op op = pending.poll();
+                writeRecord(bytes, op);
+                records++;
+                nextVersion = op.version + 1;
+            }
+
+            if (failure == null) {
+                try {
+                    if (records > 0) {
+                        // Group commit: one write and one fsync for the whole batch
+                        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+                        while (buffer.hasRemaining()) {
+                            wal.write(buffer);
+                        }
+                        wal.force(false);
+                        walRecords += records;
+                    }
+                    if (walRecords >= compactEvery || (stop && walRecords > 0)) {
+                        compact();
+                    }
+                } catch (IOException e) {
+                    // Losing persistence must never stop the game
+                    failure = e;
+                    System.err.println("Leaderboard store disabled: " + e.getMessage());
+                }
+            }
+
+            // A flush also covers the changes still held back, so wait for them
+            if (pending.isEmpty() || failure != null) {
+                for (CompletableFuture<Void> done : flushes) {
+                    if (failure == null) {
+                        done.complete(null);
+                    } else {
+                        done.completeExceptionally(failure);
+                    }
+                }
+                flushes.clear();
+            }
+        }
+    }
+
+    private static void writeRecord(ByteArrayOutputStream out, Op op) {
+        byte[] payload;
+        if (op.type == ADD) {
+            Leaderboard.LeaderboardEntry e = op.entry;
+            ByteBuffer buffer = encode(e.playerName, e.score, e.completionTime, e.timestamp.getTime(), 1);
+            payload = buffer.put(0, ADD).array();
+        } else {
+            payload = new byte[]{op.type};
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer header = ByteBuffer.allocate(8).putInt(payload.length).putInt((int) crc.getValue());
+        out.write(header.array(), 0, 8);
+        out.write(payload, 0, payload.length);
+    }
+
+    /**
+     * Entry fields after 'offset' leading bytes:
+     * long timestamp, int score, long completion time, UTF-8 name (short length prefix)
+     */
+    private static ByteBuffer encode(String name, int score, long completionTime, long timestamp, int offset) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        int nameLength = Math.min(nameBytes.length, 0xFFFF);
+        ByteBuffer buffer = ByteBuffer.allocate(offset + 8 + 4 + 8 + 2 + nameLength);
+        buffer.position(offset);
+        buffer.putLong(timestamp);
+        buffer.putInt(score);
+        buffer.putLong(completionTime);
+        buffer.putShort((short) nameLength);
+        buffer.put(nameBytes, 0, nameLength);
+        return buffer;
+    }
+
+    private static StoredEntry decode(ByteBuffer buffer) {
+        long timestamp = buffer.getLong();
+        int score = buffer.getInt();
+        long completionTime = buffer.getLong();
+        byte[] name = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(name);
+        return new StoredEntry(new String(name, StandardCharsets.UTF_8), score, completionTime, timestamp);
+    }
+
+    // ---- recovery and compaction ----
+
+    /**
+     * Read a snapshot into 'entries'. Returns the log generation it covers (0 if none).
+     */
+    private static long readSnapshot(Path file, List<StoredEntry> entries) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        try (CheckedInputStream checked = new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(file)), new CRC32());
+             DataInputStream in = new DataInputStream(checked)) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a leaderboard snapshot: " + file);
+            }
+            long covered = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long timestamp = in.readLong();
+                int score = in.readInt();
+                long completionTime = in.readLong();
+                byte[] name = new byte[in.readUnsignedShort()];
+                in.readFully(name);
+                entries.add(new StoredEntry(new String(name, StandardCharsets.UTF_8),
+                        score, completionTime, timestamp));
+            }
+
+            int expected = (int) checked.getChecksum().getValue();
+            if (in.readInt() != expected) {
+                throw new IOException("Corrupt leaderboard snapshot: " + file);
+            }
+            return covered;
+        }
+    }
+
+    /**
+     * Replay the log unless the snapshot already covers it, cut off any
+     * torn tail, and leave the channel at the end for appends
+     */
+    private void openWal(long covered) throws IOException {
+        if (Files.exists(walFile)) {
+            wal = FileChannel.open(walFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            ByteBuffer header = ByteBuffer.allocate(WAL_HEADER_SIZE);
+            readFully(wal, header, 0);
+            header.flip();
+
+            if (header.remaining() == WAL_HEADER_SIZE && header.getInt() == WAL_MAGIC
+                    && header.getInt() == VERSION) {
+                generation = header.getLong();
+                if (generation > covered) {
+                    long end = replayWal(recovered);
+                    wal.truncate(end);
+                    wal.position(end);
+                    return;
+                }
+            }
+
+            // Already folded into the snapshot, or never fully created: start the next generation
+            wal.close();
+        }
+
+        generation = covered + 1;
+        wal = createWal(walFile, generation);
+    }
+
+    /**
+     * Apply every intact log record to 'entries'. Returns the end of the
+     * last intact record and counts the records in walRecords.
+     */
+    private long replayWal(List<StoredEntry> entries) throws IOException {
+        ByteBuffer data = ByteBuffer.allocate(Math.toIntExact(wal.size() - WAL_HEADER_SIZE));
+        readFully(wal, data, WAL_HEADER_SIZE);
+        data.flip();
+
+        CRC32 crc = new CRC32();
+        long validEnd = WAL_HEADER_SIZE;
+        walRecords = 0;
+        while (data.remaining() >= 8) {
+            int length = data.getInt();
+            int checksum = data.getInt();
+            if (length <= 0 || length > data.remaining()) break;
+
+            ByteBuffer payload = data.slice(data.position(), length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) break;
+            data.position(data.position() + length);
+
+            byte type = payload.get();
+            if (type == ADD) {
+                entries.add(decode(payload));
+            } else if (type == CLEAR) {
+                entries.clear();
+            }
+            walRecords++;
+            validEnd = WAL_HEADER_SIZE + data.position();
+        }
+        return validEnd;
+    }
+
+    /**
+     * Fold the snapshot and the current log into a new snapshot, then
+     * start the next log generation
+     */
+    private void compact() throws IOException {
+        List<StoredEntry> entries = new ArrayList<>();
+        readSnapshot(snapshotFile, entries);
+        replayWal(entries);
+
+        Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file), new CRC32());
+             DataOutputStream out = new DataOutputStream(checked)) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(generation);
+            out.writeInt(entries.size());
+            for (StoredEntry e : entries) {
+                out.write(encode(e.playerName, e.score, e.completionTime, e.timestamp, 0).array());
+            }
+            out.writeInt((int) checked.getChecksum().getValue());
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+
+        // The snapshot now covers this generation, so its log can be replaced
+        wal.close();
+        generation++;
+        Path tempWal = walFile.resolveSibling(walFile.getFileName() + ".tmp");
+        createWal(tempWal, generation).close();
+        Files.move(tempWal, walFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+
+        wal = FileChannel.open(walFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        wal.position(wal.size());
+        walRecords = 0;
+    }
+
+    private static FileChannel createWal(Path file, long generation) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(WAL_HEADER_SIZE);
+        header.putInt(WAL_MAGIC).putInt(VERSION).putLong(generation).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(true);
+        return channel;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position);
+            if (n < 0) break;
+            position += n;
+        }
+    }
+
+    private void syncDirectory() {
+        // Makes the rename itself durable; not every platform can open a directory
+        try (FileChannel dir = FileChannel.open(walFile.getParent(), StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException ignored) {
+        }
+    }
+}
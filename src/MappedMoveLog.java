@@ -0,0 +1,354 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * On-disk audit log of every move, written through memory-mapped
+ * segment files (moves-000001.log, moves-000002.log, ...).
+ *
+ * Segment layout: a 16-byte header (magic, version, record size, record
+ * count) followed by fixed-width 32-byte records:
+ *
+ *   long  time the move was played (epoch ms)
+ *   long  packed move, in the MoveJournal layout
+ *   int   points earned
+ *   int   turn number within its game (0 starts a new game)
+ *   char  probability, MoveJournal fixed point
+ *   (6 bytes padding)
+ *
+ * An append is a plain memory write, so the game thread (the EDT in the
+ * GUI) never waits on file I/O. Once a segment is half full a background
+ * thread maps the next one, and it flushes full segments. If the next
+ * segment is not ready when the current one fills up, records wait in
+ * an in-memory overflow buffer instead of stalling the game; only a full
+ * overflow buffer (the disk far behind) makes an append wait. Only one
+ * thread may append.
+ */
+public class MappedMoveLog implements AutoCloseable {
+    public static final int HEADER_SIZE = 16;
+    public static final int RECORD_SIZE = 32;
+    public static final long DEFAULT_SEGMENT_SIZE = 64L << 20; // 64 MiB, about two million moves
+    public static final String DIRECTORY_PROPERTY = "ladderfall.movelog"; // -Dladderfall.movelog=<dir>
+
+    private static final int MAGIC = 0x4C464D4C; // "LFML"
+    private static final int VERSION = 1;
+    private static final int COUNT_OFFSET = 12;
+    private static final int OVERFLOW_SIZE = 65_536 * RECORD_SIZE; // 2 MiB, records held while the next segment maps
+
+    private final Path directory;
+    private final long segmentSize;
+    private final ExecutorService io;
+    private MappedByteBuffer current;
+    private int segmentIndex;
+    private int recordCount;
+    private Future<MappedByteBuffer> next; // Null until the current segment is half full
+    private ByteBuffer overflow; // Records waiting for the next segment, allocated on first use
+    private boolean failed;
+
+    public MappedMoveLog(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Open the log, continuing after the last record of the newest segment
+     */
+    public MappedMoveLog(Path directory, long segmentSize) throws IOException {
+        if (segmentSize < HEADER_SIZE + RECORD_SIZE || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Unsupported segment size: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.io = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "move-log-io");
+            t.setDaemon(true);
+            return t;
+        });
+
+        Files.createDirectories(directory);
+        segmentIndex = lastWrittenSegment(directory);
+
+        Path file = segmentPath(directory, segmentIndex);
+        current = mapSegment(file, segmentSize);
+        recordCount = recordCount(current, file);
+        current.position(HEADER_SIZE + recordCount * RECORD_SIZE);
+        prefetchIfHalfFull();
+    }
+
+    /**
+     * The segment to continue in: the newest one holding records. Every
+     * open and rollover maps the following segment ahead of time, so empty
+     * segments after it are leftovers and are deleted.
+     */
+    private static int lastWrittenSegment(Path directory) throws IOException {
+        List<Path> segments = listSegments(directory);
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            Path file = segments.get(i);
+            if (storedCount(file) > 0) {
+                return segmentNumber(file);
+            }
+            Files.delete(file);
+        }
+        return 1;
+    }
+
+    /**
+     * Record count in a segment's header, without mapping it (0 for a
+     * segment whose header was never written)
+     */
+    private static int storedCount(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // Keep reading until the header is complete or the file ends
+            }
+            if (header.hasRemaining() || header.getInt(0) == 0) return 0;
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("Not a move log segment: " + file);
+            }
+            return header.getInt(COUNT_OFFSET);
+        }
+    }
+
+    /**
+     * Record count of a mapped segment, checked against the segment's size
+     */
+    private static int recordCount(MappedByteBuffer buffer, Path file) throws IOException {
+        int count = buffer.getInt(COUNT_OFFSET);
+        if (count < 0 || count > (buffer.capacity() - HEADER_SIZE) / RECORD_SIZE) {
+            throw new IOException("Record count " + count + " does not fit move log segment: " + file);
+        }
+        return count;
+    }
+
+    /**
+     * Write the most recent move of the journal
+     */
+    public void appendLast(MoveJournal journal) {
+        int index = journal.size() - 1;
+        append(System.currentTimeMillis(), index, journal.getPacked(index),
+                journal.getPointsEarned(index), journal.getPackedProbability(index));
+    }
+
+    private void append(long timeMillis, int turn, long packedMove, int points, char probability) {
+        if (failed) return;
+
+        if (current.remaining() >= RECORD_SIZE && (overflow == null || overflow.position() == 0)) {
+            putRecord(current, timeMillis, turn, packedMove, points, probability);
+            // Publish the record only after it is complete
+            current.putInt(COUNT_OFFSET, ++recordCount);
+            prefetchIfHalfFull();
+            return;
+        }
+
+        // The segment is full: keep the record in memory until the next one is mapped
+        if (overflow == null) {
+            overflow = ByteBuffer.allocate(OVERFLOW_SIZE);
+        }
+        if (!overflow.hasRemaining() && !drainOverflow(true)) return;
+        putRecord(overflow, timeMillis, turn, packedMove, points, probability);
+        drainOverflow(false);
+    }
+
+    private static void putRecord(ByteBuffer buffer, long timeMillis, int turn, long packedMove, int points,
+                                  char probability) {
+        buffer.putLong(timeMillis);
+        buffer.putLong(packedMove);
+        buffer.putInt(points);
+        buffer.putInt(turn);
+        buffer.putChar(probability);
+        buffer.position(buffer.position() + 6);
+    }
+
+    /**
+     * Move overflowed records into segments, rolling over as needed. Without
+     * 'wait' it stops as soon as the next segment is not mapped yet.
+     * Returns false if the log failed.
+     */
+    private boolean drainOverflow(boolean wait) {
+        while (overflow.position() > 0) {
+            if (current.remaining() < RECORD_SIZE) {
+                if (!rollover(wait)) return !failed;
+                continue;
+            }
+
+            overflow.flip();
+            int bytes = Math.min(overflow.remaining(), current.remaining() / RECORD_SIZE * RECORD_SIZE);
+            current.put(current.position(), overflow, overflow.position(), bytes);
+            current.position(current.position() + bytes);
+            overflow.position(overflow.position() + bytes);
+            overflow.compact();
+
+            recordCount += bytes / RECORD_SIZE;
+            current.putInt(COUNT_OFFSET, recordCount);
+            prefetchIfHalfFull();
+        }
+        return true;
+    }
+
+    /**
+     * Switch to the next segment. Without 'wait' it returns false instead
+     * of blocking while the segment is still being mapped.
+     */
+    private boolean rollover(boolean wait) {
+        if (next == null) {
+            prepareNextSegment(); // The segment was smaller than one prefetch step
+        }
+        if (!wait && !next.isDone()) return false;
+
+        MappedByteBuffer finished = current;
+        try {
+            MappedByteBuffer mapped = next.get();
+            recordCount = recordCount(mapped, segmentPath(directory, segmentIndex + 1));
+            current = mapped;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+            return false;
+        } catch (ExecutionException e) {
+            fail(e.getCause());
+            return false;
+        } catch (IOException e) {
+            fail(e);
+            return false;
+        }
+
+        segmentIndex++;
+        next = null;
+        current.position(HEADER_SIZE + recordCount * RECORD_SIZE);
+
+        io.execute(finished::force);
+        prefetchIfHalfFull();
+        return true;
+    }
+
+    private void prefetchIfHalfFull() {
+        if (next == null && current.position() - HEADER_SIZE >= (current.capacity() - HEADER_SIZE) / 2) {
+            prepareNextSegment();
+        }
+    }
+
+    private void prepareNextSegment() {
+        Path file = segmentPath(directory, segmentIndex + 1);
+        next = io.submit(() -> mapSegment(file, segmentSize));
+    }
+
+    private void fail(Throwable cause) {
+        // Losing the audit log must never stop the game
+        failed = true;
+        System.err.println("Move log disabled: " + cause.getMessage());
+    }
+
+    private static MappedByteBuffer mapSegment(Path file, long segmentSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size() > 0 ? channel.size() : segmentSize;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+            int magic = buffer.getInt(0);
+            if (magic == 0) {
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(8, RECORD_SIZE);
+                buffer.putInt(COUNT_OFFSET, 0);
+            } else if (magic != MAGIC || buffer.getInt(8) != RECORD_SIZE) {
+                throw new IOException("Not a move log segment: " + file);
+            }
+            return buffer;
+        }
+    }
+
+    private static Path segmentPath(Path directory, int index) {
+        return directory.resolve(String.format("moves-%06d.log", index));
+    }
+
+    private static int segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring("moves-".length(), name.length() - ".log".length()));
+    }
+
+    private static List<Path> listSegments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "moves-[0-9]*.log")) {
+            for (Path p : stream) {
+                segments.add(p);
+            }
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    /**
+     * Flush written records to disk, including any still in the overflow
+     * buffer (blocks the calling thread)
+     */
+    public void flush() {
+        if (!failed && overflow != null) {
+            drainOverflow(true);
+        }
+        if (!failed) {
+            current.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        if (next != null) {
+            next.cancel(false);
+        }
+        io.shutdown();
+        try {
+            io.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Receives the records of a log in order
+     */
+    public interface RecordVisitor {
+        void visit(long timeMillis, int turn, long packedMove, int points, double probability);
+    }
+
+    /**
+     * Read every record of every segment. Returns the number of records.
+     */
+    public static long read(Path directory, RecordVisitor visitor) throws IOException {
+        long total = 0;
+        for (Path file : listSegments(directory)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (buffer.getInt(0) != MAGIC) {
+                    throw new IOException("Not a move log segment: " + file);
+                }
+
+                int count = recordCount(buffer, file);
+                for (int i = 0; i < count; i++) {
+                    int offset = HEADER_SIZE + i * RECORD_SIZE;
+                    visitor.visit(
+                            buffer.getLong(offset),
+                            buffer.getInt(offset + 20),
+                            buffer.getLong(offset + 8),
+                            buffer.getInt(offset + 16),
+                            MoveJournal.unpackProbability(buffer.getChar(offset + 24))
+                    );
+                }
+                total += count;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,220 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays large batches of complete headless games across all cores.
+ * The batch is split with fork-join; every split also splits the
+ * SplittableRandom, so workers never share a generator and a run with
+ * the same seed always produces the same result. Games follow the given
+ * GameRules, so two variants can be compared on the same seed.
+ */
+public class MonteCarloSimulator {
+    private static final long LEAF_GAMES = 4096; // Games played by one task before splitting stops
+
+    private final int numPlayers;
+    private final int boardSide;
+    private final GameRules rules;
+    private final long seed;
+    private final ForkJoinPool pool;
+
+    public MonteCarloSimulator(int numPlayers, long seed) {
+        this(numPlayers, seed, ForkJoinPool.commonPool());
+    }
+
+    public MonteCarloSimulator(int numPlayers, long seed, ForkJoinPool pool) {
+        this(numPlayers, GameEngine.DEFAULT_BOARD_SIDE, seed, pool);
+    }
+
+    /**
+     * Simulate games on boardSide x boardSide boards
+     */
+    public MonteCarloSimulator(int numPlayers, int boardSide, long seed, ForkJoinPool pool) {
+        this(numPlayers, boardSide, GameRules.CLASSIC, seed, pool);
+    }
+
+    /**
+     * Simulate games played by a rule variant
+     */
+    public MonteCarloSimulator(int numPlayers, GameRules rules, long seed) {
+        this(numPlayers, GameEngine.DEFAULT_BOARD_SIDE, rules, seed, ForkJoinPool.commonPool());
+    }
+
+    public MonteCarloSimulator(int numPlayers, int boardSide, GameRules rules, long seed, ForkJoinPool pool) {
+        if (numPlayers < 1) {
+            throw new IllegalArgumentException("numPlayers must be at least 1");
+        }
+        this.numPlayers = numPlayers;
+        this.boardSide = boardSide;
+        this.rules = rules;
+        this.seed = seed;
+        this.pool = pool;
+    }
+
+    /**
+     * Play the given number of games and merge the statistics
+     */
+    public SimulationResult run(long games) {
+        if (games < 0) {
+            throw new IllegalArgumentException("games must not be negative");
+        }
+        return pool.invoke(new SimulationTask(games, new SplittableRandom(seed)));
+    }
+
+    @SuppressWarnings("serial") // Fork/join tasks are never serialized
+    private class SimulationTask extends RecursiveTask<SimulationResult> {
+        private final long games;
+        private final SplittableRandom random;
+
+        SimulationTask(long games, SplittableRandom random) {
+            this.games = games;
+            this.random = random;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (games <= LEAF_GAMES) {
+                return playGames();
+            }
+
+            long half = games / 2;
+            SimulationTask left = new SimulationTask(half, random.split());
+            SimulationTask right = new SimulationTask(games - half, random.split());
+            left.fork();
+            SimulationResult result = right.compute();
+            result.merge(left.join());
+            return result;
+        }
+
+        private SimulationResult playGames() {
+            SimulationResult result = new SimulationResult(numPlayers, rules);
+            GameEngine engine = new GameEngine(numPlayers, boardSide, random);
+            engine.setRules(rules);
+            GameState state = new GameState(numPlayers, engine.getCompiledRules());
+            int[] points = new int[numPlayers];
+
+            for (long i = 0; i < games; i++) {
+                // The engine only generates the board, the compact state plays the game
+                if (i > 0) {
+                    state.setRules(engine.nextBoard());
+                    state.reset();
+                }
+
+                int winnerSeat = state.playGame(random);
+
+                for (int seat = 0; seat < numPlayers; seat++) {
+                    points[seat] = state.getPoints(seat);
+                }
+                result.addGame(winnerSeat, (int) state.getTurns(), points);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Aggregated statistics of a batch of games
+     */
+    public static class SimulationResult {
+        private final GameRules rules; // The variant that produced these statistics
+        private final long[] winsBySeat;
+        private final long[] pointsBySeat;
+        private long games;
+        private long totalTurns;
+        private int minTurns = Integer.MAX_VALUE;
+        private int maxTurns;
+
+        public SimulationResult(int numPlayers) {
+            this(numPlayers, GameRules.CLASSIC);
+        }
+
+        public SimulationResult(int numPlayers, GameRules rules) {
+            this.rules = rules;
+            this.winsBySeat = new long[numPlayers];
+            this.pointsBySeat = new long[numPlayers];
+        }
+
+        void addGame(int winnerSeat, int turns, int[] points) {
+            games++;
+            winsBySeat[winnerSeat]++;
+            totalTurns += turns;
+            minTurns = Math.min(minTurns, turns);
+            maxTurns = Math.max(maxTurns, turns);
+            for (int seat = 0; seat < points.length; seat++) {
+                pointsBySeat[seat] += points[seat];
+            }
+        }
+
+        void merge(SimulationResult other) {
+            games += other.games;
+            totalTurns += other.totalTurns;
+            minTurns = Math.min(minTurns, other.minTurns);
+            maxTurns = Math.max(maxTurns, other.maxTurns);
+            for (int seat = 0; seat < winsBySeat.length; seat++) {
+                winsBySeat[seat] += other.winsBySeat[seat];
+                pointsBySeat[seat] += other.pointsBySeat[seat];
+            }
+        }
+
+        public GameRules getRules() {
+            return rules;
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public long getWins(int seat) {
+            return winsBySeat[seat];
+        }
+
+        public double getWinRate(int seat) {
+            return games == 0 ? 0 : (double) winsBySeat[seat] / games;
+        }
+
+        public double getAveragePoints(int seat) {
+            return games == 0 ? 0 : (double) pointsBySeat[seat] / games;
+        }
+
+        public double getAverageTurns() {
+            return games == 0 ? 0 : (double) totalTurns / games;
+        }
+
+        public int getMinTurns() {
+            return games == 0 ? 0 : minTurns;
+        }
+
+        public int getMaxTurns() {
+            return maxTurns;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("Rules: %s%n", rules));
+            sb.append(String.format("%d games, turns avg %.2f (min %d, max %d)%n",
+                    games, getAverageTurns(), getMinTurns(), getMaxTurns()));
+            for (int seat = 0; seat < winsBySeat.length; seat++) {
+                sb.append(String.format("  Seat %d: win rate %.4f, avg points %.1f%n",
+                        seat + 1, getWinRate(seat), getAveragePoints(seat)));
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Usage: MonteCarloSimulator [games] [players] [seed] [boardSide]
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        int boardSide = args.length > 3 ? Integer.parseInt(args[3]) : GameEngine.DEFAULT_BOARD_SIDE;
+
+        long start = System.nanoTime();
+        SimulationResult result = new MonteCarloSimulator(players, boardSide, seed, ForkJoinPool.commonPool()).run(games);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.print(result);
+        System.out.printf("Finished in %d ms (seed %d)%n", elapsedMs, seed);
+    }
+}
@@ -0,0 +1,268 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Append-only move history packed into primitive arrays.
+ * Each move takes 14 bytes instead of a full MoveRecord on the heap:
+ *
+ *   long  bits  0-23 from tile, 24-47 final tile, 48-50 dice roll,
+ *              51 forward, 52 ladder, 53 double turn, 54-63 seat
+ *   int   points earned
+ *   char  probability as 16-bit fixed point (enough for display)
+ *
+ * The tile the dice landed on before a ladder is not stored; it is
+ * recomputed from the start tile, roll and direction. MoveRecord objects
+ * are only created when a move is read with get().
+ */
+public class MoveJournal {
+    private static final int TILE_BITS = 24;
+    private static final long TILE_MASK = (1L << TILE_BITS) - 1;
+    private static final int ROLL_SHIFT = 48;
+    private static final long FORWARD_BIT = 1L << 51;
+    private static final long LADDER_BIT = 1L << 52;
+    private static final long DOUBLE_TURN_BIT = 1L << 53;
+    private static final int SEAT_SHIFT = 54;
+
+    public static final int MAX_SEATS = 1 << (64 - SEAT_SHIFT);
+    public static final int MAX_TILE = (int) TILE_MASK;
+
+    private final int finishTile;
+    private final IntFunction<String> seatNames;
+    private long[] moves;
+    private int[] points;
+    private char[] probabilities;
+    private int size;
+
+    /**
+     * @param finishTile last tile of the board, used to rebuild clamped moves
+     * @param seatNames  resolves a seat id to the player's current name
+     */
+    public MoveJournal(int finishTile, IntFunction<String> seatNames) {
+        if (finishTile < 1 || finishTile > MAX_TILE) {
+            throw new IllegalArgumentException("finishTile out of range: " + finishTile);
+        }
+        this.finishTile = finishTile;
+        this.seatNames = seatNames;
+        this.moves = new long[64];
+        this.points = new int[64];
+        this.probabilities = new char[64];
+    }
+
+    public void append(int seat, MoveRecord record) {
+        append(seat, record.getDiceRoll(), record.getProbability(), record.isForward(),
+                record.getFromPosition(), record.getToPosition(), record.hasLadder(),
+                record.isDoubleTurn(), record.getPointsEarned());
+    }
+
+    public void append(int seat, int diceRoll, double probability, boolean forward, int from, int to,
+                       boolean ladder, boolean doubleTurn, int pointsEarned) {
+        if (size == moves.length) {
+            int capacity = size * 2;
+            moves = Arrays.copyOf(moves, capacity);
+            points = Arrays.copyOf(points, capacity);
+            probabilities = Arrays.copyOf(probabilities, capacity);
+        }
+
+        moves[size] = pack(seat, diceRoll, forward, from, to, ladder, doubleTurn);
+        points[size] = pointsEarned;
+        probabilities[size] = packProbability(probability);
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Pack the fixed part of a move into one long (layout in the class comment)
+     */
+    static long pack(int seat, int diceRoll, boolean forward, int from, int to,
+                     boolean ladder, boolean doubleTurn) {
+        if (seat < 0 || seat >= MAX_SEATS) {
+            throw new IllegalArgumentException("Seat out of range: " + seat);
+        }
+        if (diceRoll < 0 || diceRoll > 7) {
+            throw new IllegalArgumentException("Dice roll out of range: " + diceRoll);
+        }
+        if (from < 0 || from > MAX_TILE || to < 0 || to > MAX_TILE) {
+            throw new IllegalArgumentException("Tile out of range: " + from + " -> " + to);
+        }
+
+        long packed = from
+                | ((long) to << TILE_BITS)
+                | ((long) diceRoll << ROLL_SHIFT)
+                | ((long) seat << SEAT_SHIFT);
+        if (forward) packed |= FORWARD_BIT;
+        if (ladder) packed |= LADDER_BIT;
+        if (doubleTurn) packed |= DOUBLE_TURN_BIT;
+        return packed;
+    }
+
+    static char packProbability(double probability) {
+        return (char) Math.round(Math.min(Math.max(probability, 0), 1) * Character.MAX_VALUE);
+    }
+
+    static double unpackProbability(char probability) {
+        return probability / (double) Character.MAX_VALUE;
+    }
+
+    static int seatOf(long packed) {
+        return (int) (packed >>> SEAT_SHIFT);
+    }
+
+    static int diceRollOf(long packed) {
+        return (int) ((packed >>> ROLL_SHIFT) & 7);
+    }
+
+    static boolean isForward(long packed) {
+        return (packed & FORWARD_BIT) != 0;
+    }
+
+    static boolean hasLadder(long packed) {
+        return (packed & LADDER_BIT) != 0;
+    }
+
+    static boolean isDoubleTurn(long packed) {
+        return (packed & DOUBLE_TURN_BIT) != 0;
+    }
+
+    static int fromOf(long packed) {
+        return (int) (packed & TILE_MASK);
+    }
+
+    static int toOf(long packed) {
+        return (int) ((packed >>> TILE_BITS) & TILE_MASK);
+    }
+
+    /**
+     * The packed long of a move, in the layout described above
+     */
+    public long getPacked(int index) {
+        checkIndex(index);
+        return moves[index];
+    }
+
+    char getPackedProbability(int index) {
+        checkIndex(index);
+        return probabilities[index];
+    }
+
+    public int getSeat(int index) {
+        return seatOf(getPacked(index));
+    }
+
+    public int getDiceRoll(int index) {
+        return diceRollOf(getPacked(index));
+    }
+
+    public boolean isForward(int index) {
+        return isForward(getPacked(index));
+    }
+
+    public boolean hasLadder(int index) {
+        return hasLadder(getPacked(index));
+    }
+
+    public boolean isDoubleTurn(int index) {
+        return isDoubleTurn(getPacked(index));
+    }
+
+    public int getFromPosition(int index) {
+        return fromOf(getPacked(index));
+    }
+
+    public int getToPosition(int index) {
+        return toOf(getPacked(index));
+    }
+
+    /**
+     * Tile the dice landed on, before any ladder
+     */
+    public int getLandingPosition(int index) {
+        if (!hasLadder(index)) {
+            return getToPosition(index);
+        }
+        int landing = getFromPosition(index) + getStepsMoved(index);
+        return Math.max(1, Math.min(landing, finishTile));
+    }
+
+    public int getStepsMoved(int index) {
+        return isForward(index) ? getDiceRoll(index) : -getDiceRoll(index);
+    }
+
+    public int getPointsEarned(int index) {
+        checkIndex(index);
+        return points[index];
+    }
+
+    public double getProbability(int index) {
+        checkIndex(index);
+        return unpackProbability(probabilities[index]);
+    }
+
+    /**
+     * Build a MoveRecord for one move (a new object on every call)
+     */
+    public MoveRecord get(int index) {
+        checkIndex(index);
+        return unpack(moves[index], points[index], probabilities[index],
+                seatNames.apply(seatOf(moves[index])), finishTile);
+    }
+
+    /**
+     * Build a MoveRecord from its packed form, e.g. one received over the network
+     */
+    static MoveRecord unpack(long packed, int pointsEarned, char probability, String playerName, int finishTile) {
+        int from = fromOf(packed);
+        int steps = isForward(packed) ? diceRollOf(packed) : -diceRollOf(packed);
+        int landing = hasLadder(packed) ? Math.max(1, Math.min(from + steps, finishTile)) : toOf(packed);
+
+        MoveRecord record = new MoveRecord(playerName, diceRollOf(packed), unpackProbability(probability),
+                steps, from, landing, pointsEarned);
+        if (hasLadder(packed)) {
+            record.setLadder(landing, toOf(packed));
+        }
+        record.setDoubleTurn(isDoubleTurn(packed));
+        return record;
+    }
+
+    /**
+     * Most recent move, or null when empty
+     */
+    public MoveRecord peek() {
+        return size == 0 ? null : get(size - 1);
+    }
+
+    /**
+     * Read-only list view; records are created as they are read
+     */
+    public List<MoveRecord> asList() {
+        return new AbstractList<MoveRecord>() {
+            @Override
+            public MoveRecord get(int index) {
+                return MoveJournal.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        }
+    }
+}
@@ -9,6 +9,7 @@ public class MoveRecord {
     private int ladderFrom;
     private int ladderTo;
     private int pointsEarned;
+    private boolean doubleTurn;
 
     public MoveRecord(String playerName, int diceRoll, double probability,
                       int stepsMoved, int fromPosition, int toPosition, int pointsEarned) {
@@ -29,6 +30,14 @@ public class MoveRecord {
         this.toPosition = to; // Update final position
     }
 
+    public void setDoubleTurn(boolean doubleTurn) {
+        this.doubleTurn = doubleTurn;
+    }
+
+    public boolean isDoubleTurn() {
+        return doubleTurn;
+    }
+
     public boolean hasLadder() {
         return usedLadder;
     }
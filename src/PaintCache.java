@@ -0,0 +1,189 @@
+import java.awt.*;
+
+/**
+ * Shared colours, strokes, fonts and gradients for paint code, so a
+ * steady animation frame allocates nothing. Each resource is keyed by the
+ * values it is built from: the first request creates it, later requests
+ * with the same spec return the same object. Lookups hash a few primitive
+ * fields into an open-addressing table and never box or build a key object.
+ *
+ * Paint code only runs on the event dispatch thread, so the cache is not
+ * synchronized. It is cleared when it fills up, which only happens if a
+ * caller keeps asking for new specs (e.g. colours of a continuous hue).
+ */
+public final class PaintCache {
+    private static final int MAX_ENTRIES = 4096;
+
+    private static final long COLOR = 1L << 56;
+    private static final long STROKE = 2L << 56;
+    private static final long FONT = 3L << 56;
+    private static final long GRADIENT = 4L << 56;
+
+    // Entry i is keys[4i .. 4i+3] -> values[i]; a null value marks a free slot
+    private static long[] keys = new long[4 * 256];
+    private static Object[] values = new Object[256];
+    private static int size;
+
+    private PaintCache() {
+    }
+
+    public static Color color(int r, int g, int b) {
+        return color(r, g, b, 255);
+    }
+
+    public static Color color(int r, int g, int b, int alpha) {
+        return argb((alpha & 0xFF) << 24 | (r & 0xFF) << 16 | (g & 0xFF) << 8 | (b & 0xFF));
+    }
+
+    /**
+     * The colour of base with a different alpha
+     */
+    public static Color color(Color base, int alpha) {
+        return argb((alpha & 0xFF) << 24 | (base.getRGB() & 0xFFFFFF));
+    }
+
+    /**
+     * Opaque colour from hue, saturation and brightness, as Color.getHSBColor
+     */
+    public static Color hsb(float hue, float saturation, float brightness) {
+        return argb(Color.HSBtoRGB(hue, saturation, brightness));
+    }
+
+    /**
+     * Colour for a "#RRGGBB" string, as Color.decode
+     */
+    public static Color decode(String hex) {
+        int start = hex.startsWith("#") ? 1 : hex.startsWith("0x") || hex.startsWith("0X") ? 2 : 0;
+        return argb(0xFF000000 | Integer.parseInt(hex, start, hex.length(), 16));
+    }
+
+    private static Color argb(int argb) {
+        long key1 = argb & 0xFFFFFFFFL;
+        int slot = find(COLOR, key1, 0, 0);
+        if (values[slot] == null) {
+            return (Color) put(slot, COLOR, key1, 0, 0, new Color(argb, true));
+        }
+        return (Color) values[slot];
+    }
+
+    public static BasicStroke stroke(float width) {
+        return stroke(width, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER);
+    }
+
+    public static BasicStroke stroke(float width, int cap, int join) {
+        long key0 = STROKE | cap << 8 | join;
+        long key1 = Float.floatToIntBits(width);
+        int slot = find(key0, key1, 0, 0);
+        if (values[slot] == null) {
+            return (BasicStroke) put(slot, key0, key1, 0, 0, new BasicStroke(width, cap, join));
+        }
+        return (BasicStroke) values[slot];
+    }
+
+    public static Font font(String name, int style, int size) {
+        long key0 = FONT | (long) style << 32 | size;
+        long key1 = name.hashCode();
+        int slot = find(key0, key1, 0, 0);
+        // Names with the same hash share a key; the cached font's own name settles it
+        while (values[slot] != null && !((Font) values[slot]).getName().equals(name)) {
+            slot = probe(next(slot), key0, key1, 0, 0);
+        }
+        if (values[slot] == null) {
+            return (Font) put(slot, key0, key1, 0, 0, new Font(name, style, size));
+        }
+        return (Font) values[slot];
+    }
+
+    /**
+     * Acyclic linear gradient from c1 at (x1, y1) to c2 at (x2, y2)
+     */
+    public static GradientPaint gradient(float x1, float y1, Color c1, float x2, float y2, Color c2) {
+        long key0 = GRADIENT | (c1.getRGB() & 0xFFFFFFFFL);
+        long key1 = (long) Float.floatToIntBits(x1) << 32 | (Float.floatToIntBits(y1) & 0xFFFFFFFFL);
+        long key2 = (long) Float.floatToIntBits(x2) << 32 | (Float.floatToIntBits(y2) & 0xFFFFFFFFL);
+        long key3 = c2.getRGB() & 0xFFFFFFFFL;
+        int slot = find(key0, key1, key2, key3);
+        if (values[slot] == null) {
+            return (GradientPaint) put(slot, key0, key1, key2, key3, new GradientPaint(x1, y1, c1, x2, y2, c2));
+        }
+        return (GradientPaint) values[slot];
+    }
+
+    /**
+     * Slot holding the key, or the free slot where it belongs
+     */
+    private static int find(long key0, long key1, long key2, long key3) {
+        return probe(home(key0, key1, key2, key3), key0, key1, key2, key3);
+    }
+
+    private static int home(long key0, long key1, long key2, long key3) {
+        long hash = key0 * 0x9E3779B97F4A7C15L ^ key1 * 0xC2B2AE3D27D4EB4FL
+                ^ key2 * 0x165667B19E3779F9L ^ key3 * 0xD6E8FEB86659FD93L;
+        return (int) (hash ^ hash >>> 29) & (values.length - 1);
+    }
+
+    private static int probe(int slot, long key0, long key1, long key2, long key3) {
+        while (values[slot] != null) {
+            int base = 4 * slot;
+            if (keys[base] == key0 && keys[base + 1] == key1 && keys[base + 2] == key2 && keys[base + 3] == key3) {
+                break;
+            }
+            slot = next(slot);
+        }
+        return slot;
+    }
+
+    private static int next(int slot) {
+        return (slot + 1) & (values.length - 1);
+    }
+
+    /**
+     * Store a new value in the free slot a lookup ended on, growing or
+     * clearing the table first if needed
+     */
+    private static Object put(int slot, long key0, long key1, long key2, long key3, Object value) {
+        if (size >= MAX_ENTRIES) {
+            keys = new long[4 * 256];
+            values = new Object[256];
+            size = 0;
+            slot = home(key0, key1, key2, key3);
+        } else if (2 * (size + 1) > values.length) {
+            grow();
+            slot = freeSlot(home(key0, key1, key2, key3));
+        }
+        store(slot, key0, key1, key2, key3, value);
+        return value;
+    }
+
+    private static int freeSlot(int slot) {
+        while (values[slot] != null) {
+            slot = next(slot);
+        }
+        return slot;
+    }
+
+    private static void store(int slot, long key0, long key1, long key2, long key3, Object value) {
+        int base = 4 * slot;
+        keys[base] = key0;
+        keys[base + 1] = key1;
+        keys[base + 2] = key2;
+        keys[base + 3] = key3;
+        values[slot] = value;
+        size++;
+    }
+
+    private static void grow() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new Object[oldValues.length * 2];
+        size = 0;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int base = 4 * i;
+                long k0 = oldKeys[base], k1 = oldKeys[base + 1], k2 = oldKeys[base + 2], k3 = oldKeys[base + 3];
+                store(freeSlot(home(k0, k1, k2, k3)), k0, k1, k2, k3, oldValues[i]);
+            }
+        }
+    }
+}
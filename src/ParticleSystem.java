@@ -0,0 +1,187 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Fixed-capacity particles for UI effects. Every particle lives in the
+ * same slot of a set of primitive arrays (position, velocity, size, life,
+ * colour index), so spawning, stepping and drawing create no objects and
+ * thousands of particles stay cheap. Dead particles are swapped out for
+ * the last live one.
+ *
+ * A particle is a solid disc with a faint glow twice its size, shrinking
+ * and fading out as it ages. Both are pre-rendered once per colour and
+ * whole-pixel diameter as small sprites, which are drawn with drawImage
+ * through one of a fixed set of alpha composites.
+ *
+ * Like all paint code, a system must only be used from the event dispatch thread.
+ */
+public class ParticleSystem {
+    private static final int MAX_COLORS = 256; // Colour indexes are stored in a byte
+    private static final int MAX_DIAMETER = 16; // Largest sprite disc; bigger particles are clamped
+    private static final int GLOW_ALPHA = 50;
+    private static final int ALPHA_LEVELS = 32;
+    private static final AlphaComposite[] FADE = new AlphaComposite[ALPHA_LEVELS + 1];
+
+    private final int capacity;
+    private final double[] x;
+    private final double[] y;
+    private final double[] vx;
+    private final double[] vy;
+    private final double[] size;
+    private final int[] life;
+    private final int[] maxLife;
+    private final byte[] colorIndex;
+    private int count;
+
+    private final Color[] palette = new Color[MAX_COLORS];
+    private final Image[][] sprites = new Image[MAX_COLORS][]; // By colour, then disc diameter
+    private int colors;
+
+    static {
+        for (int level = 0; level <= ALPHA_LEVELS; level++) {
+            FADE[level] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, (float) level / ALPHA_LEVELS);
+        }
+    }
+
+    public ParticleSystem(int capacity) {
+        this.capacity = capacity;
+        this.x = new double[capacity];
+        this.y = new double[capacity];
+        this.vx = new double[capacity];
+        this.vy = new double[capacity];
+        this.size = new double[capacity];
+        this.life = new int[capacity];
+        this.maxLife = new int[capacity];
+        this.colorIndex = new byte[capacity];
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Add a particle that lives for the given number of steps.
+     * Returns false, dropping it, when the system is full.
+     */
+    public boolean spawn(double px, double py, double pvx, double pvy, Color color, double diameter, int steps) {
+        if (count == capacity) return false;
+
+        int i = count++;
+        x[i] = px;
+        y[i] = py;
+        vx[i] = pvx;
+        vy[i] = pvy;
+        size[i] = diameter;
+        life[i] = steps;
+        maxLife[i] = steps;
+        colorIndex[i] = (byte) colorIndex(color);
+        return true;
+    }
+
+    private int colorIndex(Color color) {
+        int rgb = color.getRGB();
+        for (int i = 0; i < colors; i++) {
+            if (palette[i].getRGB() == rgb) return i;
+        }
+        if (colors == MAX_COLORS) {
+            throw new IllegalStateException("A particle system holds at most " + MAX_COLORS + " colours");
+        }
+        palette[colors] = color;
+        return colors++;
+    }
+
+    /**
+     * Advance every particle by one step: move, fall, slow down and age
+     */
+    public void step() {
+        for (int i = count - 1; i >= 0; i--) {
+            x[i] += vx[i];
+            y[i] += vy[i];
+            vy[i] += 0.3; // gravity
+            vx[i] *= 0.98; // air resistance
+            vy[i] *= 0.98;
+            if (--life[i] <= 0) {
+                remove(i);
+            }
+        }
+    }
+
+    private void remove(int i) {
+        int last = --count;
+        x[i] = x[last];
+        y[i] = y[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        size[i] = size[last];
+        life[i] = life[last];
+        maxLife[i] = maxLife[last];
+        colorIndex[i] = colorIndex[last];
+    }
+
+    public void draw(Graphics2D g2d) {
+        if (count == 0) return;
+        Composite previous = g2d.getComposite();
+
+        for (int i = 0; i < count; i++) {
+            double alpha = (double) life[i] / maxLife[i];
+            int diameter = Math.min(MAX_DIAMETER, (int) Math.round(size[i] * alpha));
+            int level = (int) Math.round(alpha * ALPHA_LEVELS);
+            if (diameter <= 0 || level <= 0) continue;
+
+            Image sprite = sprite(g2d, colorIndex[i] & 0xFF, diameter);
+            g2d.setComposite(FADE[level]);
+            g2d.drawImage(sprite, (int) Math.round(x[i]) - diameter, (int) Math.round(y[i]) - diameter, null);
+        }
+
+        g2d.setComposite(previous);
+    }
+
+    /**
+     * Sprite of a disc with the given diameter and its glow, centred in a
+     * square of twice the diameter; rendered on first use
+     */
+    private Image sprite(Graphics2D g2d, int color, int diameter) {
+        Image[] byDiameter = sprites[color];
+        if (byDiameter == null) {
+            byDiameter = new Image[MAX_DIAMETER + 1];
+            sprites[color] = byDiameter;
+        }
+        Image sprite = byDiameter[diameter];
+        if (sprite != null) return sprite;
+
+        int extent = 2 * diameter;
+        GraphicsConfiguration config = g2d.getDeviceConfiguration();
+        BufferedImage image = config != null
+                ? config.createCompatibleImage(extent, extent, Transparency.TRANSLUCENT)
+                : new BufferedImage(extent, extent, BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D sg = image.createGraphics();
+        try {
+            sg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            Color base = palette[color];
+            sg.setColor(base);
+            sg.fillOval(diameter / 2, diameter / 2, diameter, diameter);
+
+            // Glow effect
+            sg.setColor(PaintCache.color(base, GLOW_ALPHA));
+            sg.fillOval(0, 0, extent, extent);
+        } finally {
+            sg.dispose();
+        }
+
+        byDiameter[diameter] = image;
+        return image;
+    }
+}
@@ -0,0 +1,217 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Immutable sorted tree that also counts positions (an order-statistic
+ * treap). insert() copies only the O(log n) nodes on the search path and
+ * returns a new tree, so every existing tree stays a valid snapshot.
+ * Readers on any thread can use a tree without locks.
+ *
+ *   insert / put   O(log n) expected
+ *   find           O(log n) expected
+ *   rankOf / get   O(log n) expected
+ *   first(k)       O(k + log n)
+ *
+ * Equal elements keep insertion order.
+ */
+public final class PersistentRankTree<T> {
+    private final Comparator<? super T> comparator;
+    private final Node<T> root;
+
+    private static final class Node<T> {
+        final T value;
+        final int priority;
+        final Node<T> left;
+        final Node<T> right;
+        final int size;
+
+        Node(T value, int priority, Node<T> left, Node<T> right) {
+            this.value = value;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = 1 + size(left) + size(right);
+        }
+    }
+
+    public PersistentRankTree(Comparator<? super T> comparator) {
+        this(comparator, null);
+    }
+
+    private PersistentRankTree(Comparator<? super T> comparator, Node<T> root) {
+        this.comparator = comparator;
+        this.root = root;
+    }
+
+    /**
+     * Tree holding the given values, built in O(n log n) (one sort) instead
+     * of n inserts. Used to load large saved leaderboards.
+     */
+    public static <T> PersistentRankTree<T> of(Comparator<? super T> comparator, List<? extends T> values) {
+        List<T> sorted = new ArrayList<>(values);
+        sorted.sort(comparator); // Stable, so equal values keep list order
+        int levels = 32 - Integer.numberOfLeadingZeros(sorted.size());
+        return new PersistentRankTree<>(comparator, build(sorted, 0, sorted.size(), 0, levels));
+    }
+
+    /**
+     * Balanced subtree over sorted[from, to). Each depth draws its priority
+     * from its own band of the int range, higher bands nearer the root, so
+     * the heap order holds and later random inserts rotate as usual.
+     */
+    private static <T> Node<T> build(List<T> sorted, int from, int to, int depth, int levels) {
+        if (from >= to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        long band = (1L << 32) / levels;
+        long bandStart = Integer.MAX_VALUE - (depth + 1) * band + 1;
+        int priority = (int) (bandStart + ThreadLocalRandom.current().nextLong(band));
+        return new Node<>(sorted.get(mid), priority,
+                build(sorted, from, mid, depth + 1, levels),
+                build(sorted, mid + 1, to, depth + 1, levels));
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * New tree with the value added; this tree is unchanged
+     */
+    public PersistentRankTree<T> insert(T value) {
+        int priority = ThreadLocalRandom.current().nextInt();
+        return new PersistentRankTree<>(comparator, insert(root, value, priority));
+    }
+
+    private Node<T> insert(Node<T> node, T value, int priority) {
+        if (node == null) {
+            return new Node<>(value, priority, null, null);
+        }
+
+        if (comparator.compare(value, node.value) < 0) {
+            Node<T> left = insert(node.left, value, priority);
+            if (left.priority > node.priority) {
+                // Rotate right: the new left child becomes the subtree root
+                return new Node<>(left.value, left.priority, left.left,
+                        new Node<>(node.value, node.priority, left.right, node.right));
+            }
+            return new Node<>(node.value, node.priority, left, node.right);
+        } else {
+            Node<T> right = insert(node.right, value, priority);
+            if (right.priority > node.priority) {
+                // Rotate left: the new right child becomes the subtree root
+                return new Node<>(right.value, right.priority,
+                        new Node<>(node.value, node.priority, node.left, right.left), right.right);
+            }
+            return new Node<>(node.value, node.priority, node.left, right);
+        }
+    }
+
+    /**
+     * New tree where the value takes the place of the element comparing
+     * equal to it, or is added if there is none; this tree is unchanged.
+     * Meant for trees whose comparator never sees two elements as equal.
+     */
+    public PersistentRankTree<T> put(T value) {
+        if (find(value) == null) {
+            return insert(value);
+        }
+        return new PersistentRankTree<>(comparator, replace(root, value));
+    }
+
+    private Node<T> replace(Node<T> node, T value) {
+        int c = comparator.compare(value, node.value);
+        if (c < 0) {
+            return new Node<>(node.value, node.priority, replace(node.left, value), node.right);
+        } else if (c > 0) {
+            return new Node<>(node.value, node.priority, node.left, replace(node.right, value));
+        }
+        return new Node<>(value, node.priority, node.left, node.right);
+    }
+
+    /**
+     * An element comparing equal to the probe, or null if there is none
+     */
+    public T find(T probe) {
+        Node<T> node = root;
+        while (node != null) {
+            int c = comparator.compare(probe, node.value);
+            if (c == 0) {
+                return node.value;
+            }
+            node = c < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Number of elements ordered strictly before the probe (its 0-based rank)
+     */
+    public int rankOf(T probe) {
+        int rank = 0;
+        Node<T> node = root;
+        while (node != null) {
+            if (comparator.compare(node.value, probe) < 0) {
+                rank += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Element at a 0-based position
+     */
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size());
+        }
+
+        Node<T> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * The first k elements in order
+     */
+    public List<T> first(int k) {
+        List<T> result = new ArrayList<>(Math.min(Math.max(k, 0), size()));
+        ArrayDeque<Node<T>> stack = new ArrayDeque<>();
+        Node<T> node = root;
+
+        while (result.size() < k && (node != null || !stack.isEmpty())) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            result.add(node.value);
+            node = node.right;
+        }
+        return result;
+    }
+}
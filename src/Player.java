@@ -5,9 +5,15 @@ public class Player {
     private int points;
     private long completionTime; // Time to finish game in milliseconds
     private int totalMoves;
+    private final int lastTile; // Finish tile of the board this player is on
 
     public Player(String name, String color) {
+        this(name, color, GameEngine.FINISH_TILE);
+    }
+
+    public Player(String name, String color, int lastTile) {
         this.name = name;
+        this.lastTile = lastTile;
         this.position = 1; // Start at position 1
         this.color = color;
         this.points = 0;
@@ -31,8 +37,8 @@ public class Player {
         // Ensure position stays within bounds
         if (position < 1) {
             this.position = 1;
-        } else if (position > 64) {
-            this.position = 64;
+        } else if (position > lastTile) {
+            this.position = lastTile;
         } else {
             this.position = position;
         }
@@ -71,6 +77,10 @@ public class Player {
         return totalMoves;
     }
 
+    public void setTotalMoves(int totalMoves) {
+        this.totalMoves = totalMoves;
+    }
+
     public void resetMoves() {
         this.totalMoves = 0;
     }
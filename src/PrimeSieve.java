@@ -0,0 +1,112 @@
+import java.util.Arrays;
+
+/**
+ * Primes for ladder placement, from one sieve of Eratosthenes shared by
+ * every board. The sieve only stores odd numbers (one bit each) and grows
+ * on demand, at least doubling, so a million-tile board costs a single
+ * pass and later boards of that size are free. New ranges are sieved one
+ * cache-sized segment at a time.
+ *
+ * Readers never lock: a grown sieve is published as a new immutable Sieve.
+ */
+public final class PrimeSieve {
+    private static final int SEGMENT_BITS = 1 << 18; // Odd numbers per segment (32 KB of bits)
+
+    private static volatile Sieve sieve = new Sieve(new long[0], 1);
+
+    /**
+     * composite bit i is set when 2i+1 is not prime; valid for numbers below limit
+     */
+    private static final class Sieve {
+        final long[] composite;
+        final int limit;
+
+        Sieve(long[] composite, int limit) {
+            this.composite = composite;
+            this.limit = limit;
+        }
+
+        boolean isOddPrime(int n) {
+            return (composite[n >>> 7] & (1L << (n >>> 1))) == 0;
+        }
+    }
+
+    private PrimeSieve() {
+    }
+
+    public static boolean isPrime(int n) {
+        if (n < 3) return n == 2;
+        if ((n & 1) == 0) return false;
+        return upTo(n).isOddPrime(n);
+    }
+
+    /**
+     * All primes p with from <= p <= to, in increasing order
+     */
+    public static int[] primesBetween(int from, int to) {
+        if (to < 2 || to < from) return new int[0];
+        Sieve s = upTo(to);
+
+        int first = Math.max(from, 3) | 1; // First odd number in range
+        int count = from <= 2 ? 1 : 0;
+        for (int n = first; n <= to && n > 0; n += 2) {
+            if (s.isOddPrime(n)) count++;
+        }
+
+        int[] primes = new int[count];
+        int index = 0;
+        if (from <= 2) primes[index++] = 2;
+        for (int n = first; n <= to && n > 0; n += 2) {
+            if (s.isOddPrime(n)) primes[index++] = n;
+        }
+        return primes;
+    }
+
+    private static Sieve upTo(int n) {
+        Sieve s = sieve;
+        if (n < s.limit) return s;
+
+        synchronized (PrimeSieve.class) {
+            s = sieve;
+            if (n < s.limit) return s;
+
+            long wanted = Math.max((long) n + 1, 2L * s.limit);
+            int bits = (int) Math.min((wanted + 1) / 2 + SEGMENT_BITS - 1, Integer.MAX_VALUE / 2 + 1);
+            bits -= bits % SEGMENT_BITS;
+            long[] composite = Arrays.copyOf(s.composite, (bits + 63) >>> 6);
+            int oldBits = s.limit / 2;
+            if (oldBits == 0) {
+                composite[0] |= 1L; // 1 is not prime
+            }
+
+            for (int lo = oldBits; lo < bits; lo += SEGMENT_BITS) {
+                sieveSegment(composite, lo, Math.min(lo + SEGMENT_BITS, bits));
+            }
+
+            s = new Sieve(composite, (int) Math.min(2L * bits, Integer.MAX_VALUE));
+            sieve = s;
+            return s;
+        }
+    }
+
+    /**
+     * Cross out odd multiples in bits [lo, hi), i.e. the odd numbers 2lo+1 .. 2hi-1.
+     * Every prime a segment needs is below it or crossed out earlier in this loop.
+     */
+    private static void sieveSegment(long[] composite, int lo, int hi) {
+        long segmentStart = 2L * lo + 1;
+        long segmentEnd = 2L * hi + 1; // Exclusive
+        for (long p = 3; p * p < segmentEnd; p += 2) {
+            int bit = (int) (p >>> 1);
+            if ((composite[bit >>> 6] & (1L << bit)) != 0) continue;
+
+            // First odd multiple of p in the segment, but never p itself
+            long m = Math.max(p * p, (segmentStart + p - 1) / p * p);
+            if ((m & 1) == 0) m += p;
+            for (; m < segmentEnd; m += 2 * p) {
+                int mBit = (int) (m >>> 1);
+                composite[mBit >>> 6] |= 1L << mBit;
+            }
+        }
+    }
+}
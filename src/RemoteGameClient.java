@@ -0,0 +1,212 @@
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Blocking client for GameServer (protocol in GameProtocol). Each call
+ * sends one request and waits for its reply. A request the server
+ * rejects (e.g. rolling out of turn) throws IllegalStateException;
+ * network problems throw IOException.
+ */
+public class RemoteGameClient implements Closeable {
+    private final SocketChannel channel;
+    private final ByteBuffer header = ByteBuffer.allocate(4);
+    private int tableId;
+    private int firstSeat;
+    private int ownSeats;
+    private String[] names = new String[0];
+    private IntFunction<String> seatNames = seat -> names[seat];
+    private Ladder[] ladders = new Ladder[0];
+    private int lastMoveSeat = -1;
+
+    public RemoteGameClient(InetSocketAddress address) throws IOException {
+        this.channel = SocketChannel.open(address);
+        this.channel.socket().setTcpNoDelay(true);
+    }
+
+    /**
+     * Open a new table with the given number of players; the first
+     * 'humans' seats belong to this client, the rest are bots
+     */
+    public synchronized void openTable(int players, int humans) throws IOException {
+        join(0, players, humans);
+    }
+
+    /**
+     * Take a free human seat at an existing table
+     */
+    public synchronized void joinTable(int tableId) throws IOException {
+        join(tableId, 0, 0);
+    }
+
+    private void join(int table, int players, int humans) throws IOException {
+        if (players > GameProtocol.MAX_SEATS) {
+            throw new IllegalArgumentException("At most " + GameProtocol.MAX_SEATS + " players per table");
+        }
+        ByteBuffer request = GameProtocol.frame(GameProtocol.JOIN, 6);
+        request.putInt(table).put((byte) players).put((byte) humans);
+        ByteBuffer reply = call(request.flip(), GameProtocol.JOIN);
+
+        tableId = reply.getInt();
+        int seats = reply.get() & 0xFF;
+        firstSeat = reply.get() & 0xFF;
+        ownSeats = reply.get() & 0xFF;
+        names = new String[seats];
+        for (int seat = 0; seat < seats; seat++) {
+            names[seat] = GameProtocol.getString(reply);
+        }
+    }
+
+    /**
+     * Play the current turn, which must belong to one of this client's seats
+     */
+    public synchronized MoveRecord roll() throws IOException {
+        ByteBuffer reply = call(GameProtocol.frame(GameProtocol.ROLL, 0).flip(), GameProtocol.ROLL);
+        lastMoveSeat = MoveJournal.seatOf(reply.getLong(reply.position()));
+        return GameProtocol.getMove(reply, this::seatName, GameEngine.FINISH_TILE);
+    }
+
+    /**
+     * Positions, points and turn order of the table. The board is
+     * available from getLadders() afterwards.
+     */
+    public synchronized GameState state() throws IOException {
+        ByteBuffer reply = call(GameProtocol.frame(GameProtocol.STATE, 0).flip(), GameProtocol.STATE);
+
+        int seats = reply.get() & 0xFF;
+        int currentSeat = GameProtocol.getSeat(reply);
+        int winnerSeat = GameProtocol.getSeat(reply);
+        long turns = reply.getLong();
+        int[] seatData = new int[seats * 3];
+        for (int i = 0; i < seatData.length; i++) {
+            seatData[i] = reply.getInt();
+        }
+
+        Ladder[] board = new Ladder[reply.getShort()];
+        for (int i = 0; i < board.length; i++) {
+            board[i] = new Ladder(reply.getInt(), reply.getInt(), reply.getInt());
+        }
+        ladders = board;
+
+        GameState state = new GameState(seats, board);
+        for (int seat = 0; seat < seats; seat++) {
+            state.setSeat(seat, seatData[seat * 3], seatData[seat * 3 + 1], seatData[seat * 3 + 2]);
+        }
+        state.setTurnState(currentSeat, winnerSeat, turns);
+        return state;
+    }
+
+    /**
+     * Moves of the current game from index 'first' on (one page at most)
+     */
+    public synchronized List<MoveRecord> history(int first) throws IOException {
+        ByteBuffer request = GameProtocol.frame(GameProtocol.HISTORY, 4);
+        request.putInt(first);
+        ByteBuffer reply = call(request.flip(), GameProtocol.HISTORY);
+
+        reply.getInt(); // First index actually sent
+        int count = reply.getInt();
+        List<MoveRecord> moves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            moves.add(GameProtocol.getMove(reply, this::seatName, GameEngine.FINISH_TILE));
+        }
+        return moves;
+    }
+
+    /**
+     * Start the next game now (table owner only). False if the table has
+     * played all its games.
+     */
+    public synchronized boolean newGame() throws IOException {
+        ByteBuffer reply = call(GameProtocol.frame(GameProtocol.NEW_GAME, 0).flip(), GameProtocol.NEW_GAME);
+        return reply.get() != 0;
+    }
+
+    private ByteBuffer call(ByteBuffer request, byte type) throws IOException {
+        while (request.hasRemaining()) {
+            channel.write(request);
+        }
+
+        header.clear();
+        readFully(header);
+        int length = header.getInt(0);
+        if (length < 1 || length > GameProtocol.MAX_FRAME) {
+            throw new IOException("Bad frame length " + length);
+        }
+        ByteBuffer reply = ByteBuffer.allocate(length);
+        readFully(reply);
+        reply.flip();
+
+        byte replyType = reply.get();
+        if (replyType == GameProtocol.ERROR) {
+            throw new IllegalStateException(GameProtocol.getString(reply));
+        }
+        if (replyType != (byte) (type | GameProtocol.REPLY)) {
+            throw new IOException("Unexpected reply type " + replyType);
+        }
+        return reply;
+    }
+
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Server closed the connection");
+            }
+        }
+    }
+
+    private String seatName(int seat) {
+        return seatNames.apply(seat);
+    }
+
+    /**
+     * Name moves with local player names instead of the server's
+     */
+    public synchronized void setSeatNames(IntFunction<String> seatNames) {
+        this.seatNames = seatNames;
+    }
+
+    public int getTableId() {
+        return tableId;
+    }
+
+    public int getSeats() {
+        return names.length;
+    }
+
+    /**
+     * Server-side name of a seat
+     */
+    public String getServerName(int seat) {
+        return names[seat];
+    }
+
+    public boolean ownsSeat(int seat) {
+        return seat >= firstSeat && seat < firstSeat + ownSeats;
+    }
+
+    /**
+     * Board from the last state() call
+     */
+    public Ladder[] getLadders() {
+        return ladders;
+    }
+
+    /**
+     * Seat of the move returned by the last roll()
+     */
+    public int getLastMoveSeat() {
+        return lastMoveSeat;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,168 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+
+/**
+ * GameEngine whose game is played on a GameServer. Rolls are sent to the
+ * server, and after every call the local players, turn order and board are
+ * replaced by the server's state, so DiceGameGUI can use it like a local
+ * engine. Bots at the table play on the server; their moves show up as
+ * new positions after the next sync(). Listeners get a GameReset for every
+ * sync and a GameWon when a local roll wins, but no per-move events. Wins
+ * go on the server's leaderboard only; the local one is left alone.
+ */
+public final class RemoteGameEngine extends GameEngine {
+    public static final String SERVER_PROPERTY = "ladderfall.server"; // -Dladderfall.server=host:port
+
+    private final RemoteGameClient client;
+    private long gameStart = System.currentTimeMillis();
+
+    /**
+     * @param client a client that has already opened or joined a table
+     */
+    public RemoteGameEngine(RemoteGameClient client) throws IOException {
+        super(client.getSeats(), GameRandom.create());
+        this.client = client;
+
+        List<Player> players = getAllPlayers();
+        for (int seat = 0; seat < players.size(); seat++) {
+            players.get(seat).setName(client.getServerName(seat));
+        }
+        client.setSeatNames(seat -> players.get(seat).getName());
+        syncState();
+    }
+
+    /**
+     * Connect to "host:port" and open a table where every seat is played locally
+     */
+    public static RemoteGameEngine connect(String address, int numPlayers) throws IOException {
+        int colon = address.lastIndexOf(':');
+        String host = colon < 0 ? address : address.substring(0, colon);
+        int port = colon < 0 ? GameServer.DEFAULT_PORT : Integer.parseInt(address.substring(colon + 1));
+
+        RemoteGameClient client = new RemoteGameClient(new InetSocketAddress(host, port));
+        try {
+            client.openTable(numPlayers, numPlayers);
+            return new RemoteGameEngine(client);
+        } catch (IOException | RuntimeException e) {
+            client.close();
+            throw e;
+        }
+    }
+
+    public RemoteGameClient getClient() {
+        return client;
+    }
+
+    /**
+     * Roll on the server. Returns null (after a sync) when the server
+     * refuses, e.g. because it is not one of this client's turns.
+     */
+    @Override
+    public MoveRecord playTurn() {
+        if (isGameOver()) {
+            return null;
+        }
+
+        try {
+            return applyRoll(sendRoll());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Send a roll to the server and fetch the state after it. Touches
+     * nothing but the connection, so DiceGameGUI runs it off the EDT and
+     * hands the result to applyRoll() there.
+     */
+    public Roll sendRoll() throws IOException {
+        MoveRecord record;
+        try {
+            record = client.roll();
+        } catch (IllegalStateException refused) {
+            record = null;
+        }
+        GameState state = client.state();
+        return new Roll(record, client.getLastMoveSeat(), state, client.getLadders());
+    }
+
+    /**
+     * Apply a roll fetched by sendRoll(). Returns null when the server refused it.
+     */
+    public MoveRecord applyRoll(Roll roll) {
+        if (roll.record != null) {
+            recordMove(roll.seat, roll.record);
+        }
+        applyState(roll.state, roll.ladders);
+        if (roll.record != null && isGameOver()) {
+            // Shown in the win dialog only: the server's host has already recorded the win
+            Player winner = getWinner();
+            winner.setCompletionTime(System.currentTimeMillis() - gameStart);
+            fireEvent(new GameEvent.GameWon(winner, roll.seat,
+                    winner.getPoints(), winner.getCompletionTime()));
+        }
+        return roll.record;
+    }
+
+    @Override
+    public void resetGame() {
+        super.resetGame();
+        gameStart = System.currentTimeMillis();
+        try {
+            client.newGame();
+            syncState();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Load positions, points, turn order and board from the server
+     */
+    public void sync() {
+        try {
+            syncState();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void syncState() throws IOException {
+        GameState state = client.state();
+        applyState(state, client.getLadders());
+    }
+
+    private void applyState(GameState state, Ladder[] ladders) {
+        if (!sameBoard(ladders, getLadders())) {
+            loadBoard(ladders);
+        }
+        restoreState(state);
+    }
+
+    /**
+     * Server's answer to one roll
+     */
+    public static final class Roll {
+        private final MoveRecord record; // null if the server refused the roll
+        private final int seat;
+        private final GameState state;
+        private final Ladder[] ladders;
+
+        private Roll(MoveRecord record, int seat, GameState state, Ladder[] ladders) {
+            this.record = record;
+            this.seat = seat;
+            this.state = state;
+            this.ladders = ladders;
+        }
+    }
+
+    private static boolean sameBoard(Ladder[] a, Ladder[] b) {
+        if (a.length != b.length) return false;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i].getFrom() != b[i].getFrom() || a[i].getTo() != b[i].getTo()) return false;
+        }
+        return true;
+    }
+}
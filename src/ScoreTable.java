@@ -0,0 +1,50 @@
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ScoringRules evaluated for every tile of one board, bonuses included.
+ * Immutable, so engines on boards of the same size share the classic
+ * table instead of building their own.
+ */
+public final class ScoreTable {
+    private static final int CACHE_LIMIT = 1 << 20; // Larger classic tables are not kept after their game
+    private static final ConcurrentHashMap<Integer, ScoreTable> CLASSIC_TABLES = new ConcurrentHashMap<>();
+
+    private final int finishTile;
+    private final int[] points; // Indexed by tile (1..finishTile)
+
+    private ScoreTable(ScoringRules rules, int finishTile) {
+        this.finishTile = finishTile;
+        this.points = new int[finishTile + 1];
+        for (int tile = 1; tile <= finishTile; tile++) {
+            points[tile] = rules.points(tile, finishTile);
+        }
+    }
+
+    public static ScoreTable build(ScoringRules rules, int finishTile) {
+        if (finishTile < 1) {
+            throw new IllegalArgumentException("finishTile must be at least 1: " + finishTile);
+        }
+        if (rules == ScoringRules.CLASSIC && finishTile <= CACHE_LIMIT) {
+            return CLASSIC_TABLES.computeIfAbsent(finishTile, size -> new ScoreTable(rules, size));
+        }
+        return new ScoreTable(rules, finishTile);
+    }
+
+    public int getFinishTile() {
+        return finishTile;
+    }
+
+    /**
+     * Points for landing on a tile
+     */
+    public int get(int tile) {
+        return points[tile];
+    }
+
+    /**
+     * The whole table, indexed by tile. Callers must not modify it.
+     */
+    int[] table() {
+        return points;
+    }
+}
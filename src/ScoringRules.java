@@ -0,0 +1,57 @@
+/**
+ * How many points landing on a tile is worth. GameEngine turns the rules
+ * into a ScoreTable when a board is created, so a turn only reads an
+ * array and the rules may be as elaborate as they like. New schemes are
+ * plain lambdas or combinations of the factories below, e.g.
+ *
+ *   engine.setScoringRules(ScoringRules.linear(10, 2).withBonusEvery(7, 100));
+ */
+@FunctionalInterface
+public interface ScoringRules {
+    /**
+     * The original scoring: a hand-tuned curve for the 64-tile board
+     * (stretched on larger boards) plus 50 points for multiples of 5
+     */
+    ScoringRules CLASSIC = stretched(new int[]{
+            0, 10, 15, 20, 25, 30, 15, 20, 25, 30,  // 1-10
+            35, 20, 25, 30, 35, 40, 25, 30, 35, 40,  // 11-20
+            45, 30, 35, 40, 45, 50, 35, 40, 45, 50,  // 21-30
+            55, 40, 45, 50, 55, 60, 45, 50, 55, 60,  // 31-40
+            65, 50, 55, 60, 65, 70, 55, 60, 65, 70,  // 41-50
+            75, 60, 65, 70, 75, 80, 65, 70, 75, 80,  // 51-60
+            85, 90, 95, 100                           // 61-64
+    }).withBonusEvery(5, GameEngine.BONUS_POINTS);
+
+    /**
+     * Points for landing on 'tile' of a board whose last tile is finishTile
+     */
+    int points(int tile, int finishTile);
+
+    /**
+     * Spread a curve over any board: tile t is worth what the tile at the
+     * same share of the curve is worth, so scores stay in the same range
+     * however long the board is. curve[0] is the first tile, the last
+     * entry the finish tile.
+     */
+    static ScoringRules stretched(int[] curve) {
+        int[] copy = curve.clone();
+        int last = copy.length - 1;
+        return (tile, finishTile) -> copy[finishTile == copy.length ? tile - 1
+                : (int) ((long) (tile - 1) * last / Math.max(1, finishTile - 1))];
+    }
+
+    /**
+     * first points on tile 1, and step more for every tile after it
+     */
+    static ScoringRules linear(int first, int step) {
+        return (tile, finishTile) -> first + step * (tile - 1);
+    }
+
+    /**
+     * These rules plus 'bonus' points on every multiple of 'every' (except the finish tile)
+     */
+    default ScoringRules withBonusEvery(int every, int bonus) {
+        return (tile, finishTile) -> points(tile, finishTile)
+                + (tile % every == 0 && tile < finishTile ? bonus : 0);
+    }
+}
@@ -0,0 +1,183 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs many independent GameTables in one JVM, one virtual thread per
+ * table. A table waiting for its pacing delay or for a human roll is a
+ * parked virtual thread, not a blocked OS thread, so thousands of tables
+ * share a handful of carrier threads. Every table reports finished games
+ * to one shared, thread-safe Leaderboard.
+ */
+public class TableHost implements AutoCloseable {
+    private final Leaderboard leaderboard;
+    private final ExecutorService threads;
+    private final Map<Integer, GameTable> tables = new ConcurrentHashMap<>();
+    private final Map<Integer, Future<?>> running = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    public TableHost() {
+        this(new Leaderboard());
+    }
+
+    public TableHost(Leaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+        this.threads = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Open a table where every seat is a bot
+     */
+    public GameTable openBotTable(int numPlayers, long turnDelayMillis, int gamesToPlay, long seed) {
+        return openHostedTable(new GameEngine(numPlayers, seed), null, turnDelayMillis, gamesToPlay);
+    }
+
+    /**
+     * Open a table for an engine the host side created (bot tables, server
+     * tables), naming its players after the table and seat. Names must be
+     * unique across tables for per-player leaderboard ranks.
+     */
+    GameTable openHostedTable(GameEngine engine, boolean[] humanSeats, long turnDelayMillis, int gamesToPlay) {
+        int id = nextId.getAndIncrement();
+        List<Player> players = engine.getAllPlayers();
+        for (int seat = 0; seat < players.size(); seat++) {
+            boolean human = humanSeats != null && humanSeats[seat];
+            players.get(seat).setName("Table " + id + (human ? " Player " : " Bot ") + (seat + 1));
+        }
+        return start(id, engine, humanSeats, turnDelayMillis, gamesToPlay);
+    }
+
+    /**
+     * Start a table for the given engine on its own virtual thread, keeping
+     * the names its players already have. The engine then belongs to the
+     * table and must only be used through it.
+     */
+    public GameTable openTable(GameEngine engine, boolean[] humanSeats, long turnDelayMillis, int gamesToPlay) {
+        return start(nextId.getAndIncrement(), engine, humanSeats, turnDelayMillis, gamesToPlay);
+    }
+
+    private GameTable start(int id, GameEngine engine, boolean[] humanSeats, long turnDelayMillis, int gamesToPlay) {
+        engine.setLeaderboard(leaderboard);
+        GameTable table = new GameTable(id, engine, humanSeats, turnDelayMillis, gamesToPlay);
+        tables.put(id, table);
+        running.put(id, threads.submit(table));
+        return table;
+    }
+
+    public GameTable getTable(int id) {
+        return tables.get(id);
+    }
+
+    public Collection<GameTable> getTables() {
+        return tables.values();
+    }
+
+    public void closeTable(int id) {
+        GameTable table = tables.remove(id);
+        running.remove(id);
+        if (table != null) {
+            table.close();
+        }
+    }
+
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    public long getTurnsPlayed() {
+        long total = 0;
+        for (GameTable table : tables.values()) {
+            total += table.getTurnsPlayed();
+        }
+        return total;
+    }
+
+    public long getGamesFinished() {
+        long total = 0;
+        for (GameTable table : tables.values()) {
+            total += table.getGamesFinished();
+        }
+        return total;
+    }
+
+    /**
+     * Wait until every open table has played all its games
+     * (never returns while a table plays until closed)
+     */
+    public void awaitTables() throws InterruptedException {
+        for (Future<?> f : new ArrayList<>(running.values())) {
+            try {
+                f.get();
+            } catch (ExecutionException e) {
+                System.err.println("Table failed: " + e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Stop every table and wait for their threads to end
+     */
+    @Override
+    public void close() {
+        for (GameTable table : tables.values()) {
+            table.close();
+        }
+        threads.close();
+        tables.clear();
+        running.clear();
+    }
+
+    /**
+     * Measure how many paced bot tables one core can run.
+     * Arguments: [tables] [seconds] [turnDelayMillis] [players],
+     * e.g. java TableHost 20000 10 500 4
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int numTables = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        long turnDelayMillis = args.length > 2 ? Long.parseLong(args[2]) : 500;
+        int numPlayers = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+        try (TableHost host = new TableHost()) {
+            for (int i = 0; i < numTables; i++) {
+                host.openBotTable(numPlayers, turnDelayMillis, 0, i);
+            }
+
+            long startTurns = host.getTurnsPlayed();
+            long startCpu = os.getProcessCpuTime();
+            long start = System.nanoTime();
+            Thread.sleep(seconds * 1000L);
+            long elapsed = System.nanoTime() - start;
+            long cpu = os.getProcessCpuTime() - startCpu;
+            long turns = host.getTurnsPlayed() - startTurns;
+
+            double turnsPerSecond = turns * 1e9 / elapsed;
+            double cpuPerTurn = turns == 0 ? 0 : (double) cpu / turns;
+            double load = cpu / (double) elapsed / cores;
+
+            System.out.printf("%,d tables, %d players, %d ms per turn, %d cores%n",
+                    numTables, numPlayers, turnDelayMillis, cores);
+            System.out.printf("Turns/s:            %,.0f (ideal %,.0f)%n", turnsPerSecond,
+                    turnDelayMillis == 0 ? Double.NaN : numTables * 1000.0 / turnDelayMillis);
+            System.out.printf("CPU per turn:       %.1f us%n", cpuPerTurn / 1000);
+            System.out.printf("Core usage:         %.0f%%%n", load * 100);
+            System.out.printf("Games finished:     %,d%n", host.getGamesFinished());
+            if (turnDelayMillis > 0 && cpuPerTurn > 0) {
+                System.out.printf("Tables per core:    %,.0f at this pacing%n",
+                        turnDelayMillis * 1e6 / cpuPerTurn);
+            }
+        }
+    }
+}